@@ -0,0 +1,117 @@
+package com.example.teama.config;
+
+import com.example.teama.entity.CompressedContentConverter;
+import com.example.teama.entity.Post;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 기존 게시글 본문 이전
+ * 예전 스키마의 평문 post_content 컬럼이 남아 있으면 chunk 단위로 읽어 압축 본문(post_content_z)과 snippet 을 채우고
+ * 평문은 비운다. 이미 옮긴 행은 건너뛰므로 도중에 멈춰도 다음 기동 때 이어서 진행한다.
+ * 검색 색인(PostIndexInitializer)보다 먼저 끝나도록 SmartLifecycle 로 한 단계 앞선 phase 에서 실행한다.
+ * 모두 옮긴 뒤에는 ALTER TABLE TBL_POST DROP COLUMN post_content 로 컬럼을 지우면 된다.
+ */
+@Slf4j
+@Component
+public class PostContentMigration implements SmartLifecycle {
+    private static final String LEGACY_COLUMN_SQL =
+            "SELECT COUNT(*) FROM user_tab_columns WHERE table_name = 'TBL_POST' AND column_name = 'POST_CONTENT'";
+    private static final String NULLABLE_SQL = "ALTER TABLE TBL_POST MODIFY (post_content NULL)";
+    private static final String SELECT_SQL =
+            "SELECT id, post_content FROM TBL_POST WHERE post_content IS NOT NULL AND post_content_z IS NULL AND ROWNUM <= ?";
+    private static final String UPDATE_SQL =
+            "UPDATE TBL_POST SET post_content_z = ?, post_snippet = ?, post_content = NULL WHERE id = ?";
+    private static final int ALREADY_NULLABLE = 1451;   // ORA-01451: column to be modified to NULL cannot be modified to NULL
+    // PostIndexInitializer(DEFAULT_PHASE - 2)보다 먼저
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private volatile boolean running;
+
+    public PostContentMigration(JdbcTemplate jdbcTemplate,
+                                @Value("${post.content.migration-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void start() {
+        migrate();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public void migrate() {
+        Integer legacy = jdbcTemplate.queryForObject(LEGACY_COLUMN_SQL, Integer.class);
+        if (legacy == null || legacy == 0) {
+            return;
+        }
+        try {
+            // 새 행은 평문 컬럼을 채우지 않으므로 NOT NULL 을 푼다
+            jdbcTemplate.execute(NULLABLE_SQL);
+        } catch (DataAccessException e) {
+            // 이미 NULL 허용이면 ORA-01451 이고 그대로 진행한다. 그 밖의 오류는 이전을 멈춘다.
+            if (!(e.getMostSpecificCause() instanceof SQLException sqlException) || sqlException.getErrorCode() != ALREADY_NULLABLE) {
+                throw e;
+            }
+            log.debug("post_content 컬럼은 이미 NULL 을 허용합니다.");
+        }
+
+        long startedAt = System.currentTimeMillis();
+        long rawBytes = 0;
+        long storedBytes = 0;
+        int count = 0;
+        List<Object[]> rows;
+        do {
+            rows = jdbcTemplate.query(SELECT_SQL, (resultSet, rowNum) -> {
+                String postContent = resultSet.getString("post_content");
+                return new Object[]{CompressedContentConverter.encode(postContent), Post.snippetOf(postContent),
+                        resultSet.getLong("id"), postContent.getBytes(StandardCharsets.UTF_8).length};
+            }, chunkSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            for (Object[] row : rows) {
+                rawBytes += (int) row[3];
+                storedBytes += ((byte[]) row[0]).length;
+            }
+            // 트랜잭션 없이 실행하므로 chunk 마다 커밋된다
+            jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+                ps.setBytes(1, (byte[]) row[0]);
+                ps.setString(2, (String) row[1]);
+                ps.setLong(3, (long) row[2]);
+            });
+            count += rows.size();
+        } while (rows.size() == chunkSize);
+
+        if (count > 0) {
+            log.info("게시글 본문 압축 이전 완료: {}건, {} bytes -> {} bytes, {}ms",
+                    count, rawBytes, storedBytes, System.currentTimeMillis() - startedAt);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.teama.config;
 
 import com.example.teama.jwt.exception.CustomAuthenticationEntryPoint;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -54,6 +55,14 @@ public class SecurityConfig {
                         .requestMatchers(new AntPathRequestMatcher("/users/myinfo")).hasRole("USER")
                         .requestMatchers(new AntPathRequestMatcher("/users/logout")).permitAll()
 
+                        .requestMatchers(new AntPathRequestMatcher("/api/v1/heart/**")).hasRole("USER") // 좋아요는 토큰의 사용자로 처리
+                        .requestMatchers(new AntPathRequestMatcher("/api/v1/post/*/reply", "POST")
+                                , new AntPathRequestMatcher("/api/v1/reply/**", "PUT")
+                                , new AntPathRequestMatcher("/api/v1/reply/**", "DELETE")).hasRole("USER") // 댓글 작성/수정/삭제는 토큰의 사용자로 처리
+
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/health")).permitAll()
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/**")).hasRole("ADMIN") // 캐시 통계 등 운영 메트릭
+
                 )
                     //    .requestMatchers(new AntPathRequestMatcher(POST,"/**").hasAnyRole("USER", "ADMIN"))
 
@@ -84,9 +93,10 @@ public class SecurityConfig {
     }
 
     // 패스워드 인코딩을 위한 PasswordEncoder 빈 등록
+    // cost 를 올리면 기존 해시는 다음 로그인 때 새 cost 로 다시 저장된다. (UserController.login)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
 
@@ -1,29 +1,39 @@
 package com.example.teama.controller;
 
-import com.example.teama.dto.heart.HeartRequestDto;
+import com.example.teama.dto.heart.HeartStatusDto;
+import com.example.teama.jwt.util.IfLogin;
+import com.example.teama.jwt.util.LoginUserDto;
 import com.example.teama.service.HeartService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/heart")
 public class HeartController {
-    private HeartService heartService;
+    private final HeartService heartService;
+
+    // 목록 화면용 좋아요 상태
+    // ?postIds=1,2,3 - 게시글별 좋아요 수와 내가 눌렀는지를 요청 순서대로 돌려준다. (없는 게시글은 빠진다)
+    @GetMapping("/status")
+    public List<HeartStatusDto> findStatuses(@IfLogin LoginUserDto loginUserDto, @RequestParam List<Long> postIds) {
+        return heartService.findStatuses(loginUserDto.getUserId(), postIds);
+    }
 
     // 좋아요 추가
-    // HeartService를 이용하여 좋아요 추가
-    @PutMapping("/{postid}")
-    public String addHeart(@RequestBody HeartRequestDto requestDto) {
-        heartService.addHeart(requestDto); //addHeart 메서드 호출하여 좋아요 추가
+    // 사용자는 요청 본문이 아니라 JWT 로 인증된 사용자로 정한다. 여러 번 눌러도 좋아요는 한 건만 남는다.
+    @PutMapping("/{postId}")
+    public String addHeart(@IfLogin LoginUserDto loginUserDto, @PathVariable Long postId) {
+        heartService.addHeart(loginUserDto.getUserId(), postId); //addHeart 메서드 호출하여 좋아요 추가
         return "Add Heart";
     }
 
     // 좋아요 삭제
-    // HeartService를 이용하여 좋아요 삭제
     @DeleteMapping("/{postId}")
-    public String removeHeart(@RequestBody HeartRequestDto requestDto) {
-        heartService.removeHeart(requestDto); //removeHeart 메서드 호출하여 좋아요 삭제
+    public String removeHeart(@IfLogin LoginUserDto loginUserDto, @PathVariable Long postId) {
+        heartService.removeHeart(loginUserDto.getUserId(), postId); //removeHeart 메서드 호출하여 좋아요 삭제
         return "Delete Heart";
     }
-}
\ No newline at end of file
+}
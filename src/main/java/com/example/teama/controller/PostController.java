@@ -1,12 +1,28 @@
 package com.example.teama.controller;
 
+import com.example.teama.dto.post.PostBatchItemDto;
 import com.example.teama.dto.post.PostResponseDto;
 import com.example.teama.dto.post.PostSaveRequestDto;
+import com.example.teama.dto.post.PostSuggestionDto;
+import com.example.teama.dto.post.PostSummaryDto;
 import com.example.teama.dto.post.PostUpdateRequestDto;
+import com.example.teama.dto.post.PostVersionDto;
+import com.example.teama.jwt.util.IfLogin;
+import com.example.teama.jwt.util.LoginUserDto;
+import com.example.teama.service.PostExportService;
+import com.example.teama.service.PostListResponseCache;
+import com.example.teama.service.PostListVersion;
 import com.example.teama.service.PostService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -15,6 +31,9 @@ import java.util.List;
 //@RequestMapping("/posts/*")
 public class PostController {
     private final PostService postService;
+    private final PostExportService postExportService;
+    private final PostListVersion postListVersion;
+    private final PostListResponseCache postListResponseCache;
 
 //    @GetMapping("write")
 //    public void goToWriteForm(){
@@ -35,6 +54,13 @@ public class PostController {
         return postService.save(requestDto);
     }
 
+    // Bulk Save Post
+    // [{user: {id}, postTitle, postContent}, ...] 를 한 트랜잭션으로 등록하고 생성된 id 를 요청 순서대로 돌려준다.
+    @PostMapping("/api/v1/post/bulk")
+    public List<Long> savePosts(@RequestBody List<PostSaveRequestDto> requestDtos) {
+        return postService.saveAll(requestDtos);
+    }
+
     // Update Post
     @PutMapping("/api/v1/post/{id}")
     public Long updatePost(@PathVariable Long id, @RequestBody PostUpdateRequestDto requestDto) {
@@ -42,15 +68,97 @@ public class PostController {
     }
 
     // Read Post
+    // ETag / Last-Modified 를 내려주고, If-None-Match / If-Modified-Since 가 맞으면 본문 없이 304
+    // 조건부 요청이면 본문 대신 버전(수정 시각, 좋아요 수)만 먼저 확인한다.
+    // 본문을 내려준 경우만 조회수에 센다. (304 재검증은 세지 않는다)
     @GetMapping("/api/v1/post/{id}")
-    public PostResponseDto findById(@PathVariable Long id) {
-        return postService.findById(id);
+    public PostResponseDto findById(@PathVariable Long id, @IfLogin LoginUserDto loginUserDto,
+                                    HttpServletRequest servletRequest, WebRequest request) {
+        PostVersionDto version = isConditional(request) ? postService.findVersion(id).orElse(null) : null;
+        if (version != null && request.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+
+        PostResponseDto post = postService.findById(id);
+        postService.recordView(id, viewer(loginUserDto, servletRequest));
+        if (version == null) {
+            version = PostVersionDto.of(post);
+            request.checkNotModified(version.getETag(), version.getLastModified());  // 조건부 요청이 아니면 헤더만 채운다
+        }
+        return post;
     }
 
-    // Read Post List
+    // Read Post List (Keyset Pagination)
+    // ?after=<nextCursor>&size=N
+    // 목록 버전은 메모리에만 있으므로 304 판단에 DB 를 읽지 않는다.
+    // 앞쪽 페이지는 미리 직렬화해 둔 byte[] 를 그대로 쓰고, 클라이언트가 gzip 을 받으면 압축본을 보낸다.
     @GetMapping("/api/v1/post")
-    public List<PostResponseDto> findAllDesc() {
-        return postService.findAllDesc();
+    public ResponseEntity<?> findPage(@RequestParam(required = false) String after,
+                                      @RequestParam(required = false) Integer size,
+                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                      WebRequest request) {
+        if (request.checkNotModified(postListVersion.eTag(after, size), postListVersion.lastModified())) {
+            return null;
+        }
+
+        PostListResponseCache.CachedPage page = postListResponseCache.get(after, size, () -> postService.findPage(after, size));
+        if (page == null) {
+            return ResponseEntity.ok(postService.findPage(after, size));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (page.getGzipped() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.getGzipped());
+        }
+        return response.body(page.getJson());
+    }
+
+    // Read Posts By Ids
+    // ?ids=1,2,3 - 피드/북마크처럼 여러 글을 한 번에 그린다. 요청 순서대로, 없는 글은 found = false.
+    // 목록 렌더링용이므로 조회수에는 세지 않는다.
+    @GetMapping(value = "/api/v1/post", params = "ids")
+    public List<PostBatchItemDto> findByIds(@RequestParam List<Long> ids) {
+        return postService.findByIds(ids);
+    }
+
+    // Read Post List (페이지 없이 전체 목록 조회는 limit 를 명시해야 한다)
+    @GetMapping("/api/v1/post/all")
+    public List<PostSummaryDto> findAllDesc(@RequestParam int limit) {
+        return postService.findAllDesc(limit);
+    }
+
+    // Search Post
+    // ?q=검색어&size=N, BM25 점수 순
+    @GetMapping("/api/v1/post/search")
+    public List<PostSummaryDto> search(@RequestParam String q, @RequestParam(required = false) Integer size) {
+        return postService.search(q, size);
+    }
+
+    // Trending Post
+    // ?size=N, 최근 좋아요/댓글을 시간 감쇠(post.trending.half-life)로 합산한 점수 순
+    @GetMapping("/api/v1/post/trending")
+    public List<PostSummaryDto> trending(@RequestParam(required = false) Integer size) {
+        return postService.trending(size);
+    }
+
+    // Suggest Post Title
+    // ?prefix=접두사&size=N, 제목(또는 제목 속 단어)이 접두사로 시작하는 최신 글
+    @GetMapping("/api/v1/post/suggest")
+    public List<PostSuggestionDto> suggest(@RequestParam String prefix, @RequestParam(required = false) Integer size) {
+        return postService.suggest(prefix, size);
+    }
+
+    // Export Post
+    // 전체 게시글을 NDJSON(한 줄에 하나)으로 내려준다. ?gzip=true 면 posts.ndjson.gz
+    @GetMapping("/api/v1/post/export")
+    public void export(@RequestParam(defaultValue = "false") boolean gzip, HttpServletResponse response) throws IOException {
+        response.setContentType(gzip ? "application/gzip" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts.ndjson" + (gzip ? ".gz" : "") + "\"");
+
+        postExportService.export(response.getOutputStream(), gzip);
     }
 
     // Delete Post
@@ -60,4 +168,16 @@ public class PostController {
 
         return postId;
     }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // 순 방문자 구분용. 로그인 사용자는 id, 아니면 접속 주소 + User-Agent
+    private static String viewer(LoginUserDto loginUserDto, HttpServletRequest request) {
+        if (loginUserDto != null && loginUserDto.getUserId() != null) {
+            return "u:" + loginUserDto.getUserId();
+        }
+        return "a:" + request.getRemoteAddr() + "|" + request.getHeader(HttpHeaders.USER_AGENT);
+    }
 }
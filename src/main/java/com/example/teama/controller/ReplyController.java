@@ -0,0 +1,58 @@
+package com.example.teama.controller;
+
+import com.example.teama.dto.reply.ReplySaveRequestDto;
+import com.example.teama.dto.reply.ReplySliceResponseDto;
+import com.example.teama.dto.reply.ReplyUpdateRequestDto;
+import com.example.teama.jwt.util.IfLogin;
+import com.example.teama.jwt.util.LoginUserDto;
+import com.example.teama.service.ReplyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+public class ReplyController {
+    private final ReplyService replyService;
+
+    // Save Reply
+    // parentId 가 있으면 그 댓글의 답글이 된다. 작성자는 JWT 로 인증된 사용자다.
+    @PostMapping("/api/v1/post/{postId}/reply")
+    public Long saveReply(@IfLogin LoginUserDto loginUserDto, @PathVariable Long postId,
+                          @RequestBody ReplySaveRequestDto requestDto) {
+        return replyService.save(loginUserDto.getUserId(), postId, requestDto);
+    }
+
+    // Read Reply List (Keyset Pagination)
+    // ?after=<nextCursor>&size=N, 스레드(depth-first) 순서
+    @GetMapping("/api/v1/post/{postId}/reply")
+    public ReplySliceResponseDto findThread(@PathVariable Long postId,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer size) {
+        return replyService.findThread(postId, after, size);
+    }
+
+    // Read Reply Thread
+    // 댓글 하나와 그 아래 답글 전체
+    @GetMapping("/api/v1/reply/{replyId}/thread")
+    public ReplySliceResponseDto findSubtree(@PathVariable Long replyId,
+                                             @RequestParam(required = false) String after,
+                                             @RequestParam(required = false) Integer size) {
+        return replyService.findSubtree(replyId, after, size);
+    }
+
+    // Update Reply
+    @PutMapping("/api/v1/reply/{replyId}")
+    public Long updateReply(@IfLogin LoginUserDto loginUserDto, @PathVariable Long replyId,
+                            @RequestBody ReplyUpdateRequestDto requestDto) {
+        return replyService.update(loginUserDto.getUserId(), replyId, requestDto);
+    }
+
+    // Delete Reply
+    // 답글도 함께 삭제된다.
+    @DeleteMapping("/api/v1/reply/{replyId}")
+    public Long deleteReply(@IfLogin LoginUserDto loginUserDto, @PathVariable Long replyId) {
+        replyService.delete(loginUserDto.getUserId(), replyId);
+
+        return replyId;
+    }
+}
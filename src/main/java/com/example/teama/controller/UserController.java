@@ -1,27 +1,32 @@
 package com.example.teama.controller;
 
 import com.example.teama.dto.user.*;
-import com.example.teama.entity.RefreshToken;
-import com.example.teama.entity.Role;
 import com.example.teama.entity.User;
+import com.example.teama.jwt.provider.TokenRevocationList;
 import com.example.teama.jwt.util.IfLogin;
 import com.example.teama.jwt.util.JwtTokenizer;
 import com.example.teama.jwt.util.LoginUserDto;
+import com.example.teama.jwt.util.RoleCodec;
+import com.example.teama.jwt.util.TokenClaims;
+import com.example.teama.service.PasswordHasher;
 import com.example.teama.service.RefreshTokenService;
 import com.example.teama.service.UserService;
-import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 
 @RestController
 @RequiredArgsConstructor
@@ -31,9 +36,17 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final JwtTokenizer jwtTokenizer;
+    private final RoleCodec roleCodec;
     private final UserService userService;
     private final RefreshTokenService refreshTokenService;
-    private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationList tokenRevocationList;
+    private final PasswordHasher passwordHasher;
+    // BCrypt 가 끝난 뒤의 DB 작업(회원 저장, refresh token 저장, 재해시 저장)을 실행한다. (spring.task.execution)
+    // PasswordHasher 풀은 BCrypt 계산에만 쓴다.
+    private final ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    @Value("${password.hash.retry-after:1}")
+    private int retryAfterSeconds;
 
 
 //    내 정보 조회
@@ -54,15 +67,25 @@ public class UserController {
 
 
 //        // 회원가입
+    // BCrypt 는 PasswordHasher 스레드 풀에서, 회원 저장은 applicationTaskExecutor 에서 실행하고 요청 스레드는 바로 돌려준다 (비동기 응답)
     @PostMapping("/signup")
-    public ResponseEntity signup(@RequestBody @Valid UserSignupDto userSignupDto, BindingResult bindingResult) {
+    public CompletableFuture<ResponseEntity> signup(@RequestBody @Valid UserSignupDto userSignupDto, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
-            return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            return CompletableFuture.completedFuture(new ResponseEntity(HttpStatus.BAD_REQUEST));
+        }
+
+        try {
+            return passwordHasher.encode(userSignupDto.getUserPassword())
+                    .thenApplyAsync(encodedPassword -> signup(userSignupDto, encodedPassword), applicationTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
         }
+    }
 
+    private ResponseEntity signup(UserSignupDto userSignupDto, String encodedPassword) {
         User user = User.builder()
                 .userEmail(userSignupDto.getUserEmail())
-                .userPassword(passwordEncoder.encode(userSignupDto.getUserPassword()))
+                .userPassword(encodedPassword)
                 .userNickname(userSignupDto.getUserNickname())
                 .userPhone(userSignupDto.getUserPhone())
                 .build();
@@ -79,33 +102,38 @@ public class UserController {
         return new ResponseEntity(userSignupResponse, HttpStatus.CREATED);
     }
 
+    // 비밀번호 비교(BCrypt)는 PasswordHasher 스레드 풀에서 실행하고 요청 스레드는 바로 돌려준다 (비동기 응답)
+    // 풀과 대기열이 가득 차 있으면 기다리지 않고 503 + Retry-After 로 응답한다.
     @PostMapping("/login")
-    public ResponseEntity login(@RequestBody @Valid UserLoginDto loginDto, BindingResult bindingResult) {
+    public CompletableFuture<ResponseEntity> login(@RequestBody @Valid UserLoginDto loginDto, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
-            return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            return CompletableFuture.completedFuture(new ResponseEntity(HttpStatus.BAD_REQUEST));
         }
 
         // email이 없을 경우 Exception이 발생한다. Global Exception에 대한 처리가 필요하다.
         User user = userService.findByEmail(loginDto.getUserEmail());
-        if(!passwordEncoder.matches(loginDto.getUserPassword(), user.getUserPassword())){
-            return new ResponseEntity(HttpStatus.UNAUTHORIZED);
+        // 권한(지연 로딩)은 영속성 컨텍스트가 열려 있는 요청 스레드에서 미리 읽는다
+        long roles = roleCodec.encode(user.getRoles());
+        try {
+            return passwordHasher.matches(loginDto.getUserPassword(), user.getUserPassword())
+                    .thenApplyAsync(matched -> matched ? login(user, roles, loginDto.getUserPassword()) : new ResponseEntity(HttpStatus.UNAUTHORIZED),
+                            applicationTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy());
         }
+    }
 
-        List<String> roles = user.getRoles().stream().map(Role::getName).collect(Collectors.toList());
+    // applicationTaskExecutor 스레드에서 실행된다. 토큰 생성과 refresh token 저장만 하고 바로 끝난다.
+    private ResponseEntity login(User user, long roles, String rawPassword) {
+        rehashIfNeeded(user, rawPassword);
 
         // JWT토큰을 생성하였다. jwt라이브러리를 이용하여 생성.
 
-        String accessToken = jwtTokenizer.createAccessToken(user.getId(), user.getUserEmail(), user.getUserPassword(), roles);
-        String refreshToken = jwtTokenizer.createRefreshToken(user.getId(), user.getUserEmail(), user.getUserPassword(), roles);
+        String accessToken = jwtTokenizer.createAccessToken(user.getId(), user.getUserEmail(), user.getUserNickname(), roles);
+        String refreshToken = jwtTokenizer.createRefreshToken(user.getId(), user.getUserEmail(), user.getUserNickname(), roles);
 
-//         RefreshToken을 DB에 저장한다. 성능 때문에 DB가 아니라 Redis에 저장하는 것이 좋다.
-
-
-        RefreshToken refreshTokenEntity = new RefreshToken();
-        refreshTokenEntity.setValue(refreshToken);
-//        refreshTokenEntity.setMemberId(user.getId());
-        refreshTokenEntity.setUser(user);
-        refreshTokenService.addRefreshToken(refreshTokenEntity);
+//         RefreshToken은 원문 대신 해시와 만료 시각만 저장한다. (refresh-token.store: jpa / memory)
+        refreshTokenService.addRefreshToken(user.getId(), refreshToken, jwtTokenizer.parseRefreshToken(refreshToken).expiration());
 
 
 
@@ -119,16 +147,39 @@ public class UserController {
 
 
         return new ResponseEntity(loginResponse, HttpStatus.OK);
+    }
 
+    // 저장된 해시의 cost 가 설정보다 낮으면 새 cost 로 다시 해시해서 저장한다. 로그인 응답은 기다리지 않는다.
+    // 풀이 바쁘면 건너뛰고 다음 로그인 때 다시 시도한다.
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.upgradeEncoding(user.getUserPassword())) {
+            return;
+        }
+        try {
+            passwordHasher.encode(rawPassword)
+                    .thenAcceptAsync(rehashed -> userService.rehashPassword(user.getId(), user.getUserPassword(), rehashed),
+                            applicationTaskExecutor)
+                    .exceptionally(e -> {
+                        log.warn("비밀번호 재해시 실패. userId = {}", user.getId(), e);
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            log.debug("BCrypt 풀이 가득 차 재해시를 다음 로그인으로 미룹니다. userId = {}", user.getId());
+        }
+    }
 
-
-
+    private ResponseEntity busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .build();
     }
 
 //   로그아웃
     @DeleteMapping("/logout")
-    public ResponseEntity logout(@RequestBody RefreshTokenDto refreshTokenDto) {
+    public ResponseEntity logout(@RequestBody RefreshTokenDto refreshTokenDto,
+                                 @RequestHeader(value = "Authorization", required = false) String authorization) {
         refreshTokenService.deleteRefreshToken(refreshTokenDto.getRefreshToken());
+        revokeAccessToken(authorization);
         log.info("들어옴");
         log.info(refreshTokenDto.getRefreshToken());
         return new ResponseEntity(HttpStatus.OK);
@@ -136,6 +187,19 @@ public class UserController {
 
 
 
+    // 함께 온 access token 은 만료 시각까지 폐기 목록에 올린다. 이미 만료됐거나 잘못된 토큰이면 무시한다.
+    private void revokeAccessToken(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return;
+        }
+        try {
+            TokenClaims claims = jwtTokenizer.parseAccessToken(authorization.substring("Bearer ".length()));
+            tokenRevocationList.revoke(claims.tokenId(), claims.expiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("폐기할 수 없는 access token: {}", e.getMessage());
+        }
+    }
+
     /*
     1. 전달받은 유저의 아이디로 유저가 존재하는지 확인한다.
     2. RefreshToken이 유효한지 체크한다.
@@ -146,19 +210,19 @@ public class UserController {
     //refreshToken 으로 accessToken 재발급
     @PostMapping("/refreshToken")
     public ResponseEntity requestRefresh(@RequestBody RefreshTokenDto refreshTokenDto) {
-        RefreshToken refreshToken = refreshTokenService.findRefreshToken(refreshTokenDto.getRefreshToken()).orElseThrow(() -> new IllegalArgumentException("Refresh token not found"));
-        Claims claims = jwtTokenizer.parseRefreshToken(refreshToken.getValue());
+        Long storedUserId = refreshTokenService.findUserId(refreshTokenDto.getRefreshToken()).orElseThrow(() -> new IllegalArgumentException("Refresh token not found"));
+        TokenClaims claims = jwtTokenizer.parseRefreshToken(refreshTokenDto.getRefreshToken());
 
-        Long id = Long.valueOf((Integer)claims.get("id"));
+        Long id = claims.userId();
+        if (!id.equals(storedUserId)) {
+            throw new IllegalArgumentException("Refresh token not found");
+        }
 
         User user = userService.getUser(id).orElseThrow(() -> new IllegalArgumentException("User not found"));
 
 
-        // List<Role> ===> List<String> 으로 변경
-        List roles = (List) claims.get("roles");
-        String email = claims.getSubject();
-
-        String accessToken = jwtTokenizer.createAccessToken(id, email, user.getUserNickname(), roles);
+        // 권한은 refresh token 의 bitmask 를 그대로 쓴다
+        String accessToken = jwtTokenizer.createAccessToken(id, claims.email(), user.getUserNickname(), claims.roles());
 
 
         UserLoginResponseDto loginResponse = UserLoginResponseDto.builder()
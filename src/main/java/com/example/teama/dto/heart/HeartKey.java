@@ -0,0 +1,7 @@
+package com.example.teama.dto.heart;
+
+/**
+ * 좋아요 한 건을 식별하는 (사용자, 게시글) 쌍
+ */
+public record HeartKey(Long userId, Long postId) {
+}
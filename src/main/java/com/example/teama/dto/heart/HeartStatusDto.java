@@ -0,0 +1,19 @@
+package com.example.teama.dto.heart;
+
+import lombok.Getter;
+
+/**
+ * 목록 화면의 좋아요 표시용 - 게시글별 좋아요 수와 현재 사용자가 눌렀는지 여부
+ */
+@Getter
+public class HeartStatusDto {
+    private final Long postId;
+    private final long heartCount;
+    private final boolean liked;
+
+    public HeartStatusDto(Long postId, long heartCount, boolean liked) {
+        this.postId = postId;
+        this.heartCount = heartCount;
+        this.liked = liked;
+    }
+}
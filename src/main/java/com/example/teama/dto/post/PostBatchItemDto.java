@@ -0,0 +1,20 @@
+package com.example.teama.dto.post;
+
+import lombok.Getter;
+
+/**
+ * 게시글 여러 건 조회(?ids=) 결과의 한 항목
+ * 요청한 id 순서대로 하나씩 만들어지며, 없거나 삭제된 글은 found = false, post = null 이다.
+ */
+@Getter
+public class PostBatchItemDto {
+    private final Long id;
+    private final boolean found;
+    private final PostResponseDto post;
+
+    public PostBatchItemDto(Long id, PostResponseDto post) {
+        this.id = id;
+        this.found = post != null;
+        this.post = post;
+    }
+}
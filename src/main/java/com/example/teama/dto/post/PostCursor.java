@@ -0,0 +1,37 @@
+package com.example.teama.dto.post;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 게시글 목록 커서 인코딩/디코딩
+ * 클라이언트에는 불투명한 문자열로 전달하고, 서버에서는 마지막으로 내려준 게시글 id로 해석한다.
+ */
+public final class PostCursor {
+    private static final String PREFIX = "p:";
+
+    private PostCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor = " + cursor, e);
+        }
+        if (!raw.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor = " + cursor);
+        }
+        try {
+            return Long.valueOf(raw.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor = " + cursor, e);
+        }
+    }
+}
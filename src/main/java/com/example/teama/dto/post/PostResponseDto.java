@@ -1,20 +1,67 @@
 package com.example.teama.dto.post;
 
 import com.example.teama.entity.Post;
-import com.example.teama.entity.User;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 @Getter
 public class PostResponseDto {
     private final Long id;
-    private final User user;
+    private final Long userId;
+    private final String userNickname;
     private final String postTitle;
     private final String postContent;
+    private final long heartCount;
+    private final long replyCount;
+    private final long viewCount;
+    private final long uniqueViewers;    // HyperLogLog 추정치 (오차 약 3%)
+    private final LocalDateTime postRegisterDates;
+    private final LocalDateTime postUpdateDates;
 
     public PostResponseDto(Post post) {
-        this.id = post.getId();
-        this.user = post.getUser();
-        this.postTitle = post.getPostTitle();
-        this.postContent = post.getPostContent();
+        this(post.getId(), post.getPostTitle(), post.getPostContent(),
+                post.getUser().getId(), post.getUser().getUserNickname(), post.getHeartCount(), post.getReplyCount(), post.getViewCount(), post.getUniqueViewers(),
+                post.getPostRegisterDates(), post.getPostUpdateDates());
+    }
+
+    // PostRepository.findDetailById 의 JPQL 생성자 표현식에서 사용
+    public PostResponseDto(Long id, String postTitle, String postContent, Long userId, String userNickname,
+                           long heartCount, long replyCount, long viewCount, long uniqueViewers, LocalDateTime postRegisterDates, LocalDateTime postUpdateDates) {
+        this.id = id;
+        this.userId = userId;
+        this.userNickname = userNickname;
+        this.postTitle = postTitle;
+        this.postContent = postContent;
+        this.heartCount = heartCount;
+        this.replyCount = replyCount;
+        this.viewCount = viewCount;
+        this.uniqueViewers = uniqueViewers;
+        this.postRegisterDates = postRegisterDates;
+        this.postUpdateDates = postUpdateDates;
+    }
+
+    // 아직 DB 에 반영되지 않은 좋아요 증감분을 더한 사본
+    public PostResponseDto withPendingHearts(long pending) {
+        if (pending == 0) {
+            return this;
+        }
+        return new PostResponseDto(id, postTitle, postContent, userId, userNickname,
+                heartCount + pending, replyCount, viewCount, uniqueViewers, postRegisterDates, postUpdateDates);
+    }
+
+    // 아직 DB 에 반영되지 않은 조회수를 더한 사본
+    public PostResponseDto withPendingViews(long pending) {
+        if (pending == 0) {
+            return this;
+        }
+        return new PostResponseDto(id, postTitle, postContent, userId, userNickname,
+                heartCount, replyCount, viewCount + pending, uniqueViewers, postRegisterDates, postUpdateDates);
+    }
+
+    // DB 에 반영된 조회수/순 방문자 수로 바꾼 사본 (상세 캐시 갱신용)
+    public PostResponseDto withViews(long viewCount, long uniqueViewers) {
+        return new PostResponseDto(id, postTitle, postContent, userId, userNickname,
+                heartCount, replyCount, viewCount, uniqueViewers, postRegisterDates, postUpdateDates);
     }
 }
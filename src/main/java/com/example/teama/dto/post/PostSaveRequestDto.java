@@ -3,9 +3,11 @@ package com.example.teama.dto.post;
 import com.example.teama.entity.Post;
 import com.example.teama.entity.User;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 
+@Getter
 @NoArgsConstructor
 public class PostSaveRequestDto {
     private User user;
@@ -20,6 +22,11 @@ public class PostSaveRequestDto {
     }
 
     public Post toEntity() {
+        return toEntity(user);
+    }
+
+    // 일괄 등록 시 요청 본문의 user 대신 id 만으로 만든 참조(proxy)를 넣는다.
+    public Post toEntity(User user) {
         return Post.builder()
                 .user(user)
                 .postTitle(postTitle)
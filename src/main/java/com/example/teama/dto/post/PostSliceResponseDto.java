@@ -0,0 +1,18 @@
+package com.example.teama.dto.post;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class PostSliceResponseDto {
+    private final List<PostSummaryDto> posts;
+    private final String nextCursor;    // 다음 페이지가 없으면 null
+    private final boolean hasNext;
+
+    public PostSliceResponseDto(List<PostSummaryDto> posts, String nextCursor) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+}
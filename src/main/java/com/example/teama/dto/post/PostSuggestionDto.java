@@ -0,0 +1,14 @@
+package com.example.teama.dto.post;
+
+import lombok.Getter;
+
+@Getter
+public class PostSuggestionDto {
+    private final Long id;
+    private final String postTitle;
+
+    public PostSuggestionDto(Long id, String postTitle) {
+        this.id = id;
+        this.postTitle = postTitle;
+    }
+}
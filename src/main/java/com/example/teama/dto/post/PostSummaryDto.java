@@ -0,0 +1,45 @@
+package com.example.teama.dto.post;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 목록용 조회 모델
+ * PostRepository 의 JPQL 생성자 표현식(select new ...)으로 한 번의 SQL 로 채워진다.
+ * User 엔티티를 들고 있지 않으므로 비밀번호, 전화번호, roles 가 직렬화되지 않는다.
+ */
+@Getter
+public class PostSummaryDto {
+    private final Long id;
+    private final String postTitle;
+    private final String postSnippet;
+    private final Long userId;
+    private final String userNickname;
+    private final long heartCount;
+    private final long replyCount;
+    private final LocalDateTime postRegisterDates;
+    private final LocalDateTime postUpdateDates;
+
+    public PostSummaryDto(Long id, String postTitle, String postSnippet, Long userId, String userNickname,
+                          long heartCount, long replyCount, LocalDateTime postRegisterDates, LocalDateTime postUpdateDates) {
+        this.id = id;
+        this.postTitle = postTitle;
+        this.postSnippet = postSnippet;
+        this.userId = userId;
+        this.userNickname = userNickname;
+        this.heartCount = heartCount;
+        this.replyCount = replyCount;
+        this.postRegisterDates = postRegisterDates;
+        this.postUpdateDates = postUpdateDates;
+    }
+
+    // 아직 DB 에 반영되지 않은 좋아요 증감분을 더한 사본
+    public PostSummaryDto withPendingHearts(long pending) {
+        if (pending == 0) {
+            return this;
+        }
+        return new PostSummaryDto(id, postTitle, postSnippet, userId, userNickname,
+                heartCount + pending, replyCount, postRegisterDates, postUpdateDates);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.teama.dto.post;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 게시글 상세의 버전 정보 (조건부 GET 검증용)
+ * 본문 없이 수정 시각과 좋아요/댓글 수만 가진다.
+ * 조회수(viewCount)와 순 방문자 수(uniqueViewers)는 조회할 때마다 바뀌므로 버전에 넣지 않는다.
+ * 그래서 같은 버전이어도 응답 본문의 조회수는 다를 수 있고, ETag 는 약한(weak) ETag 로 내려준다.
+ */
+@Getter
+public class PostVersionDto {
+    private final Long id;
+    private final LocalDateTime postUpdateDates;
+    private final long heartCount;
+    private final long replyCount;
+
+    // PostRepository.findVersionById 의 JPQL 생성자 표현식에서 사용
+    public PostVersionDto(Long id, LocalDateTime postUpdateDates, long heartCount, long replyCount) {
+        this.id = id;
+        this.postUpdateDates = postUpdateDates;
+        this.heartCount = heartCount;
+        this.replyCount = replyCount;
+    }
+
+    public static PostVersionDto of(PostResponseDto post) {
+        return new PostVersionDto(post.getId(), post.getPostUpdateDates(), post.getHeartCount(), post.getReplyCount());
+    }
+
+    public PostVersionDto withPendingHearts(long pending) {
+        if (pending == 0) {
+            return this;
+        }
+        return new PostVersionDto(id, postUpdateDates, heartCount + pending, replyCount);
+    }
+
+    // 약한 ETag, W/"p<id>-<수정 시각 ms>-<좋아요 수>-<댓글 수>" (조회수는 제외)
+    public String getETag() {
+        return "W/\"p" + id + "-" + getLastModified() + "-" + heartCount + "-" + replyCount + "\"";
+    }
+
+    // Last-Modified 는 글 수정 시각이다. 좋아요/댓글 수 변경은 ETag 로만 구분된다.
+    public long getLastModified() {
+        return postUpdateDates == null ? -1 : postUpdateDates.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.teama.dto.reply;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 댓글 목록 커서 인코딩/디코딩
+ * 클라이언트에는 불투명한 문자열로 전달하고, 서버에서는 마지막으로 내려준 댓글의 path 로 해석한다.
+ */
+public final class ReplyCursor {
+    private static final String PREFIX = "r:";
+
+    private ReplyCursor() {
+    }
+
+    public static String encode(String lastPath) {
+        String raw = PREFIX + lastPath;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor = " + cursor, e);
+        }
+        String path = raw.startsWith(PREFIX) ? raw.substring(PREFIX.length()) : "";
+        if (path.isEmpty() || !path.chars().allMatch(c -> Character.isDigit(c) || (c >= 'a' && c <= 'z'))) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor = " + cursor);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.teama.dto.reply;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 댓글 조회 모델
+ * ReplyRepository 의 JPQL 생성자 표현식으로 채워진다. 목록은 스레드(depth-first) 순서이므로
+ * 클라이언트는 depth 로 들여쓰기만 하면 된다.
+ * 답글이 남아 있어 삭제 표시만 된 댓글은 deleted = true, replyContent = null 로 내려간다.
+ */
+@Getter
+public class ReplyResponseDto {
+    private final Long id;
+    private final Long postId;
+    private final Long parentId;
+    private final Long userId;
+    private final String userNickname;
+    private final String replyContent;
+    private final boolean deleted;
+    private final int depth;
+    @JsonIgnore
+    private final String path;          // 다음 페이지 커서를 만들 때만 쓴다
+    private final LocalDateTime replyRegisterDate;
+    private final LocalDateTime replyUpdateDate;
+
+    public ReplyResponseDto(Long id, Long postId, Long parentId, Long userId, String userNickname, String replyContent,
+                            boolean deleted, int depth, String path, LocalDateTime replyRegisterDate, LocalDateTime replyUpdateDate) {
+        this.id = id;
+        this.postId = postId;
+        this.parentId = parentId;
+        this.userId = userId;
+        this.userNickname = userNickname;
+        this.replyContent = deleted ? null : replyContent;
+        this.deleted = deleted;
+        this.depth = depth;
+        this.path = path;
+        this.replyRegisterDate = replyRegisterDate;
+        this.replyUpdateDate = replyUpdateDate;
+    }
+}
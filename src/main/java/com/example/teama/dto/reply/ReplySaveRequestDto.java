@@ -0,0 +1,18 @@
+package com.example.teama.dto.reply;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ReplySaveRequestDto {
+    private Long parentId;      // 답글이면 부모 댓글 id, 게시글에 바로 다는 댓글이면 null
+    private String replyContent;
+
+    @Builder
+    public ReplySaveRequestDto(Long parentId, String replyContent) {
+        this.parentId = parentId;
+        this.replyContent = replyContent;
+    }
+}
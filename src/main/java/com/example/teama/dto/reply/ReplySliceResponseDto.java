@@ -0,0 +1,18 @@
+package com.example.teama.dto.reply;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ReplySliceResponseDto {
+    private final List<ReplyResponseDto> replies;
+    private final String nextCursor;    // 다음 페이지가 없으면 null
+    private final boolean hasNext;
+
+    public ReplySliceResponseDto(List<ReplyResponseDto> replies, String nextCursor) {
+        this.replies = replies;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.teama.dto.reply;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ReplyUpdateRequestDto {
+    private String replyContent;
+
+    @Builder
+    public ReplyUpdateRequestDto(String replyContent) {
+        this.replyContent = replyContent;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.teama.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 게시글 본문 압축 저장
+ * 본문은 UTF-8 로 바꾼 뒤 Deflate 로 압축해 BLOB 에 저장한다. 게시글 하나는 짧아서 압축기가 참고할 앞 내용이 거의 없으므로
+ * 자주 나오는 단어를 모은 preset dictionary 를 미리 넣어 두고 압축한다.
+ * 첫 byte 는 형식 표시다. 짧거나 압축해도 줄지 않는 본문은 UTF-8 그대로(RAW) 저장한다.
+ * dictionary 를 바꾸면 기존 행을 풀 수 없으므로 새 형식 번호를 추가하고 이전 dictionary 도 남겨 둔다.
+ */
+@Converter
+public class CompressedContentConverter implements AttributeConverter<String, byte[]> {
+    static final byte RAW = 0;
+    static final byte DEFLATE_V1 = 1;
+
+    private static final int MIN_COMPRESS_BYTES = 64;
+
+    private static final byte[] DICTIONARY_V1 = String.join(" ",
+            "https://", "http://", "www.", ".com", "github", "spring", "java", "server", "client", "api",
+            "error", "exception", "database", "query", "team", "project", "study", "review", "question",
+            "the ", "and ", "that ", "this ", "with ", "for ", "you ", "have ", "not ", "are ",
+            "합니다", "입니다", "습니다", "했습니다", "있습니다", "없습니다", "감사합니다", "안녕하세요",
+            "그리고", "하지만", "그래서", "때문에", "에서", "으로", "에게", "까지", "부터", "이번", "오늘",
+            "프로젝트", "스터디", "서버", "개발", "코드", "질문", "답변", "공유", "모집", "회의", "일정", "정리",
+            "\n\n", ". ", ", ", "?\n", "!\n", ".\n"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        return encode(content);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return decode(stored);
+    }
+
+    public static byte[] encode(String content) {
+        if (content == null) {
+            return null;
+        }
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_COMPRESS_BYTES) {
+            byte[] compressed = deflate(utf8);
+            if (compressed.length < utf8.length) {
+                return compressed;
+            }
+        }
+        byte[] raw = new byte[utf8.length + 1];
+        raw[0] = RAW;
+        System.arraycopy(utf8, 0, raw, 1, utf8.length);
+        return raw;
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored == null || stored.length == 0) {
+            return null;
+        }
+        switch (stored[0]) {
+            case RAW:
+                return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE_V1:
+                return new String(inflate(stored), StandardCharsets.UTF_8);
+            default:
+                throw new IllegalArgumentException("알 수 없는 본문 저장 형식입니다. format = " + stored[0]);
+        }
+    }
+
+    // [형식 1byte][원본 길이 4byte][deflate 스트림]
+    private static byte[] deflate(byte[] utf8) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(utf8);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2 + 16);
+            out.write(DEFLATE_V1);
+            out.write(utf8.length >>> 24);
+            out.write(utf8.length >>> 16);
+            out.write(utf8.length >>> 8);
+            out.write(utf8.length);
+            byte[] buffer = new byte[Math.max(64, Math.min(utf8.length, 8192))];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        int length = ((stored[1] & 0xff) << 24) | ((stored[2] & 0xff) << 16) | ((stored[3] & 0xff) << 8) | (stored[4] & 0xff);
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(DICTIONARY_V1);
+            inflater.setInput(stored, 5, stored.length - 5);
+            byte[] utf8 = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(utf8, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalArgumentException("압축된 본문이 손상되었습니다. expected = " + length + ", actual = " + read);
+            }
+            return utf8;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("압축된 본문이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -9,19 +9,24 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table (name = "TBL_HEART")
+@Table (name = "TBL_HEART", uniqueConstraints = {
+        @UniqueConstraint(name = "UK_HEART_USER_POST", columnNames = {"user_id", "post_id"})   // 사용자당 게시글 좋아요는 한 건
+}, indexes = {
+        @Index(name = "IX_HEART_POST", columnList = "post_id")   // 게시글 단위 삭제(PostPurger)
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Heart {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "heart_seq")
+    @SequenceGenerator(name = "heart_seq", sequenceName = "TBL_HEART_SEQ", allocationSize = 50) // HeartJdbcRepository 의 MERGE 도 같은 시퀀스를 사용
     @EqualsAndHashCode.Include
     private Long id;
 
-    @ManyToOne @NotNull
+    @ManyToOne(fetch = FetchType.LAZY) @NotNull
     private User user;
 
-    @ManyToOne @NotNull
+    @ManyToOne(fetch = FetchType.LAZY) @NotNull
     private Post post;
 
     @CreationTimestamp
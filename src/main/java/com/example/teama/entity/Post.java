@@ -4,30 +4,70 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.Where;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table (name = "TBL_POST")
+@Table (name = "TBL_POST", indexes = {
+        @Index(name = "IX_POST_DELETED", columnList = "deleted")   // PostPurger 가 삭제 표시된 글(소수)을 찾는다
+})
+@Where(clause = "deleted = 0")   // 삭제 표시된 글은 모든 엔티티/JPQL 조회에서 빠진다
+@DynamicUpdate                   // 수정 시 바뀐 컬럼만 UPDATE 한다 (dirty tracking 이 기록한 속성만)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Post {
+    public static final int SNIPPET_LENGTH = 100;
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "TBL_POST_SEQ", allocationSize = 50) // pooled-lo: 시퀀스 한 번에 50개 id, insert 배치 가능
     @EqualsAndHashCode.Include
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     private User user;
 
     @NotNull
     private String postTitle;
 
+    // 본문은 압축해서 BLOB 에 저장한다. 상세 조회에서만 읽고, 목록은 postSnippet 만 읽는다.
+    // 엔티티로 읽을 때도 처음 접근할 때까지 SELECT 하지 않는다 (bytecode enhancement 필요, build.gradle 참고)
     @NotNull
+    @Basic(fetch = FetchType.LAZY)
+    @Lob
+    @Convert(converter = CompressedContentConverter.class)
+    @Column(name = "post_content_z", columnDefinition = "BLOB")
     private String postContent;
 
+    // 목록용 본문 앞부분. 저장/수정 시 미리 잘라 둔다.
+    @Column(name = "post_snippet", length = SNIPPET_LENGTH)
+    private String postSnippet;
+
+    // 좋아요 수 (비정규화). HeartWriteBehindBuffer 가 TBL_HEART 배치와 같은 트랜잭션에서(write-behind 를 끄면 HeartCountBuffer 가) UPDATE 로만 반영하므로 엔티티 수정 시에는 건드리지 않는다.
+    @Column(name = "heart_count", nullable = false, updatable = false, columnDefinition = "NUMBER(19) DEFAULT 0")
+    private long heartCount;
+
+    // 댓글 수 (비정규화). ReplyService 가 댓글을 추가/삭제하는 트랜잭션 안에서 증감 UPDATE 로만 반영한다.
+    @Column(name = "reply_count", nullable = false, updatable = false, columnDefinition = "NUMBER(19) DEFAULT 0")
+    private long replyCount;
+
+    // 조회수와 순 방문자 추정치 (비정규화). PostViewCounter 가 모아둔 값을 배치 UPDATE 로만 반영한다.
+    @Column(name = "view_count", nullable = false, updatable = false, columnDefinition = "NUMBER(19) DEFAULT 0")
+    private long viewCount;
+
+    @Column(name = "unique_viewers", nullable = false, updatable = false, columnDefinition = "NUMBER(19) DEFAULT 0")
+    private long uniqueViewers;
+
+    // 삭제 표시 (soft delete). 실제 행과 좋아요/댓글은 PostPurger 가 나중에 조금씩 지운다.
+    @Column(name = "deleted", nullable = false, columnDefinition = "NUMBER(1) DEFAULT 0")
+    private boolean deleted;
+
+    private LocalDateTime deletedAt;
+
     @CreationTimestamp
     private LocalDateTime postRegisterDates;
 
@@ -40,10 +80,20 @@ public class Post {
         this.user = user;
         this.postTitle = postTitle;
         this.postContent = postContent;
+        this.postSnippet = snippetOf(postContent);
     }
 
     public void update(String postTitle, String postContent) {
         this.postTitle = postTitle;
         this.postContent = postContent;
+        this.postSnippet = snippetOf(postContent);
+    }
+
+    // 서로게이트 쌍(이모지 등)이 반으로 잘리지 않도록 code point 단위로 자른다.
+    public static String snippetOf(String postContent) {
+        if (postContent == null || postContent.codePointCount(0, postContent.length()) <= SNIPPET_LENGTH) {
+            return postContent;
+        }
+        return postContent.substring(0, postContent.offsetByCodePoints(0, SNIPPET_LENGTH));
     }
 }
@@ -0,0 +1,28 @@
+package com.example.teama.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글별 순 방문자 HyperLogLog 레지스터 (6bit x 1024 = 768byte)
+ * PostViewCounter 가 JDBC 로 읽고 합쳐서 다시 쓴다. 엔티티는 테이블 정의용이다.
+ */
+@Entity
+@Table (name = "TBL_POST_VIEW_SKETCH")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostViewSketch {
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "registers", nullable = false, columnDefinition = "RAW(768)")
+    private byte[] registers;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
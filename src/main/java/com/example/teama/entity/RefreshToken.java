@@ -1,20 +1,27 @@
 package com.example.teama.entity;
 
+import com.example.teama.jwt.util.TokenHash;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.Length;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table (name = "TBL_REFRESH_TOKEN")
+@Table (name = "TBL_REFRESH_TOKEN", uniqueConstraints = {
+        @UniqueConstraint(name = "UK_REFRESH_TOKEN_HASH", columnNames = "token_hash")   // 조회/삭제는 해시 유니크 인덱스로 한 행만 찾는다
+}, indexes = {
+        @Index(name = "IX_REFRESH_TOKEN_EXPIRES", columnList = "expires_at")           // 만료된 토큰 정리
+})
 @NoArgsConstructor
 @Getter
 @Setter
 public class RefreshToken {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_token_seq")
+    @SequenceGenerator(name = "refresh_token_seq", sequenceName = "TBL_REFRESH_TOKEN_SEQ", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -24,8 +31,18 @@ public class RefreshToken {
     private User user; // User 엔티티를 참조하는 필드
 
 
-    @Column(length = 300)
-    private String value;
+    // 토큰 원문은 저장하지 않는다. (SHA-256, 고정 길이)
+    @Column(name = "token_hash", length = TokenHash.LENGTH, nullable = false)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
 
 
-}
\ No newline at end of file
+    @Builder
+    public RefreshToken(User user, String tokenHash, LocalDateTime expiresAt) {
+        this.user = user;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+    }
+}
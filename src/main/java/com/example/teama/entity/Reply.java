@@ -10,21 +10,41 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table (name = "TBL_REPLY")
+@Table (name = "TBL_REPLY", indexes = {
+        @Index(name = "IX_REPLY_POST_PATH", columnList = "post_id, path")   // 게시글의 댓글 스레드를 path 순서로 한 번의 range scan 으로 읽는다
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Reply {
+    // path 는 루트부터 자기 자신까지 id 를 36진수 고정 폭으로 이어 붙인 값이다. path 순으로 정렬하면 스레드가 depth-first 순서가 된다.
+    public static final int PATH_SEGMENT_LENGTH = 13;   // Long 최댓값의 36진수 자릿수
+    public static final int MAX_DEPTH = 9;              // 0(댓글) ~ 9(대댓글의 ...), 더 깊은 답글은 같은 깊이의 형제로 붙는다
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reply_seq")
+    @SequenceGenerator(name = "reply_seq", sequenceName = "TBL_REPLY_SEQ", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
-    @ManyToOne @NotNull
+    @ManyToOne(fetch = FetchType.LAZY) @NotNull
     private User user;
 
-    @ManyToOne @NotNull
+    @ManyToOne(fetch = FetchType.LAZY) @NotNull
     private Post post;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Reply parent;
+
+    // id 가 정해진 뒤(persist 직후) assignPath 로 채운다. 관리 중인 엔티티라 flush 때 변경 감지로 반영된다.
+    @Column(length = PATH_SEGMENT_LENGTH * (MAX_DEPTH + 1))
+    private String path;
+
+    private int depth;
+
+    // 다른 사용자의 답글이 달린 댓글을 지우면 행은 남기고 삭제 표시만 한다 (답글 스레드를 유지한다)
+    @Column(name = "deleted", nullable = false, columnDefinition = "NUMBER(1) DEFAULT 0")
+    private boolean deleted;
+
     @NotNull
     private String replyContent;
 
@@ -36,9 +56,27 @@ public class Reply {
 
 
   @Builder
-    public Reply(User user, Post post, String replyContent) {
+    public Reply(User user, Post post, Reply parent, String replyContent) {
         this.user = user;
         this.post = post;
+        this.parent = parent;
+        this.depth = parent == null ? 0 : parent.getDepth() + 1;
+        this.replyContent = replyContent;
+    }
+
+    public void assignPath() {
+        String segment = Long.toString(id, Character.MAX_RADIX);
+        segment = "0".repeat(PATH_SEGMENT_LENGTH - segment.length()) + segment;
+        this.path = parent == null ? segment : parent.getPath() + segment;
+    }
+
+    public void update(String replyContent) {
         this.replyContent = replyContent;
     }
+
+    // 내용은 지우고 자리만 남긴다
+    public void markDeleted() {
+        this.deleted = true;
+        this.replyContent = "";
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.teama.entity;
+
+import com.example.teama.jwt.util.JwtTokenizer;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 만료 전에 폐기(로그아웃)된 access token 의 jti
+ * TokenRevocationList 가 JDBC 로 읽고 쓴다. 엔티티는 테이블 정의용이다.
+ */
+@Entity
+@Table (name = "TBL_REVOKED_TOKEN", indexes = {
+        @Index(name = "IX_REVOKED_TOKEN_REVOKED", columnList = "revoked_at"),   // 다른 노드가 새로 폐기한 토큰 동기화
+        @Index(name = "IX_REVOKED_TOKEN_EXPIRES", columnList = "expires_at")    // 만료된 행 정리
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RevokedToken {
+    @Id
+    @Column(name = "token_id", length = JwtTokenizer.TOKEN_ID_LENGTH)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
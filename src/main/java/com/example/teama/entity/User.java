@@ -17,7 +17,8 @@ import java.util.Set;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class User {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "TBL_USER_SEQ", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
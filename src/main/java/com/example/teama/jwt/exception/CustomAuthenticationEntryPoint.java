@@ -39,6 +39,11 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
             else if (exception.equals(JwtExceptionCode.UNSUPPORTED_TOKEN.getCode())) {
                 log.error("entry point >> unsupported token");
                 setResponse(response, JwtExceptionCode.UNSUPPORTED_TOKEN);
+            }
+            //폐기된(로그아웃한) 토큰인 경우
+            else if (exception.equals(JwtExceptionCode.REVOKED_TOKEN.getCode())) {
+                log.error("entry point >> revoked token");
+                setResponse(response, JwtExceptionCode.REVOKED_TOKEN);
             } else if (exception.equals(JwtExceptionCode.NOT_FOUND_TOKEN.getCode())) {
                 log.error("entry point >> not found token");
                 setResponse(response, JwtExceptionCode.NOT_FOUND_TOKEN);
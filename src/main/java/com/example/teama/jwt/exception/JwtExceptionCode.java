@@ -8,7 +8,8 @@ public enum JwtExceptionCode {
     NOT_FOUND_TOKEN("NOT_FOUND_TOKEN", "Headers에 토큰 형식의 값 찾을 수 없음"),
     INVALID_TOKEN("INVALID_TOKEN", "유효하지 않은 토큰"),
     EXPIRED_TOKEN("EXPIRED_TOKEN", "기간이 만료된 토큰"),
-    UNSUPPORTED_TOKEN("UNSUPPORTED_TOKEN", "지원하지 않는 토큰");
+    UNSUPPORTED_TOKEN("UNSUPPORTED_TOKEN", "지원하지 않는 토큰"),
+    REVOKED_TOKEN("REVOKED_TOKEN", "로그아웃 등으로 폐기된 토큰");
 
 
     @Getter
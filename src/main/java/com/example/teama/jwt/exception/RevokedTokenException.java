@@ -0,0 +1,13 @@
+package com.example.teama.jwt.exception;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * 서명과 만료 시각은 유효하지만 TokenRevocationList 에 올라간(로그아웃한) 토큰
+ */
+public class RevokedTokenException extends JwtException {
+
+    public RevokedTokenException(String message) {
+        super(message);
+    }
+}
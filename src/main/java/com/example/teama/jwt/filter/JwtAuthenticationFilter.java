@@ -2,6 +2,7 @@ package com.example.teama.jwt.filter;
 
 
 import com.example.teama.jwt.exception.JwtExceptionCode;
+import com.example.teama.jwt.exception.RevokedTokenException;
 import com.example.teama.jwt.token.JwtAuthenticationToken;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -53,6 +54,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             log.error("EXPIRED Token // token : {}", token);
             log.error("Set Request Exception Code : {}", request.getAttribute("exception"));
             throw new BadCredentialsException("throw new expired token exception");
+        } catch (RevokedTokenException e) {
+            request.setAttribute("exception", JwtExceptionCode.REVOKED_TOKEN.getCode());
+            log.error("Revoked Token // token : {}", token);
+            log.error("Set Request Exception Code : {}", request.getAttribute("exception"));
+            throw new BadCredentialsException("throw new revoked token exception");
         } catch (UnsupportedJwtException e) {
             request.setAttribute("exception", JwtExceptionCode.UNSUPPORTED_TOKEN.getCode());
             log.error("Unsupported Token // token : {}", token);
@@ -1,17 +1,21 @@
 package com.example.teama.jwt.provider;
 
+import com.example.teama.jwt.exception.RevokedTokenException;
 import com.example.teama.jwt.token.JwtAuthenticationToken;
 import com.example.teama.jwt.util.JwtTokenizer;
 import com.example.teama.jwt.util.LoginInfoDto;
-import io.jsonwebtoken.Claims;
+import com.example.teama.jwt.util.RoleCodec;
+import com.example.teama.jwt.util.TokenClaims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Component
@@ -19,33 +23,46 @@ import java.util.List;
 public class JwtAuthenticationProvider implements AuthenticationProvider {
 
     private final JwtTokenizer jwtTokenizer;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RoleCodec roleCodec;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         JwtAuthenticationToken authenticationToken = (JwtAuthenticationToken) authentication;
         // 토큰을 검증한다. 기간이 만료되었는지, 토큰 문자열이 문제가 있는지 등 Exception이 발생한다.
-        Claims claims = jwtTokenizer.parseAccessToken(authenticationToken.getToken());
-        // sub에 암호화된 데이터를 집어넣고, 복호화하는 코드를 넣어줄 수 있다.
-        String email = claims.getSubject();
-        Long id = claims.get("id", Long.class);
-        String userNickname = claims.get("userNickname", String.class);
-        List<GrantedAuthority> authorities = getGrantedAuthorities(claims);
+        // 이미 검증한 토큰이면 캐시에 있는 내용을 그대로 쓴다. (만료 시각이 지나면 캐시에서도 빠진다)
+        VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.get(authenticationToken.getToken(), this::verify);
+        // 로그아웃한 토큰은 캐시에 있어도 거절한다. (메모리 해시 조회 한 번, DB 는 읽지 않는다)
+        if (tokenRevocationList.isRevoked(verified.tokenId())) {
+            throw new RevokedTokenException("폐기된 토큰입니다.");
+        }
 
         LoginInfoDto loginInfo = new LoginInfoDto();
-        loginInfo.setUserId(id);
-        loginInfo.setEmail(email);
-        loginInfo.setUserNickname(userNickname);
+        loginInfo.setUserId(verified.userId());
+        loginInfo.setEmail(verified.email());
+        loginInfo.setUserNickname(verified.userNickname());
+
+        return new JwtAuthenticationToken(verified.authorities(), loginInfo, null);
+    }
 
-        return new JwtAuthenticationToken(authorities, loginInfo, null);
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        TokenClaims claims = jwtTokenizer.parseAccessToken(token);
+        return new VerifiedTokenCache.VerifiedToken(
+                claims.userId(),
+                claims.email(),
+                claims.userNickname(),
+                getGrantedAuthorities(claims.roles()),
+                claims.expiration().getTime(),
+                claims.tokenId());
     }
 
-    private List<GrantedAuthority> getGrantedAuthorities(Claims claims) {
-        List<String> roles = (List<String>) claims.get("roles");
+    private List<GrantedAuthority> getGrantedAuthorities(long roles) {
         List<GrantedAuthority> authorities = new ArrayList<>();
-        for (String role : roles) {
-            authorities.add(()-> role);
+        for (String role : roleCodec.decode(roles)) {
+            authorities.add(new SimpleGrantedAuthority(role));
         }
-        return authorities;
+        return Collections.unmodifiableList(authorities);
     }
 
     @Override
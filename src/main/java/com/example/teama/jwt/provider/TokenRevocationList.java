@@ -0,0 +1,181 @@
+package com.example.teama.jwt.provider;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 만료 전에 폐기(로그아웃)된 access token 목록 (jti 기준)
+ * 요청마다 확인하는 것은 메모리 Set 의 해시 조회 한 번이고 DB 는 읽지 않는다.
+ * jti 는 토큰 만료 시각의 bucket(jwt.revocation.bucket, 기본 1분)에 함께 묶여, 만료 시각이 지난 bucket 은 통째로 버린다.
+ * 만료된 토큰은 어차피 서명 검증에서 거절되므로 목록에는 아직 유효한 토큰의 jti 만 남는다.
+ * 폐기 내역은 TBL_REVOKED_TOKEN 에도 저장해 재시작하면 다시 읽고, 다른 노드가 폐기한 토큰은 주기적으로 읽어 온다.
+ * 저장에 실패한 폐기는 이 노드에만 반영된 채로 남겨 두었다가 다음 동기화 때 다시 저장한다.
+ * (ddl-auto: create 로 기동하면 테이블이 새로 만들어지므로 재시작 후에도 유지되는 것은 스키마를 따로 관리할 때뿐이다)
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+    private static final String INSERT_SQL =
+            "INSERT INTO TBL_REVOKED_TOKEN (token_id, expires_at, revoked_at) VALUES (?, ?, ?)";
+    private static final String SELECT_SQL =
+            "SELECT token_id, expires_at, revoked_at FROM TBL_REVOKED_TOKEN WHERE revoked_at > ? AND expires_at > ?";
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM TBL_REVOKED_TOKEN WHERE expires_at <= ? AND ROWNUM <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long bucketMillis;
+    private final long syncOverlapMillis;
+    private final int purgeBatchSize;
+
+    private final Set<String> revoked = ConcurrentHashMap.newKeySet();
+    // 만료 bucket (만료 시각 / bucketMillis) -> 그 안에 만료되는 jti. revoked 와 함께 바꾸므로 buckets 로 동기화한다.
+    private final NavigableMap<Long, List<String>> buckets = new TreeMap<>();
+    // 지금까지 읽은 폐기 시각 중 가장 늦은 값 (다음 동기화의 기준)
+    private volatile long syncedUpTo = 0;
+    // DB 에 저장하지 못한 폐기 (다음 동기화 때 다시 저장한다)
+    private final Queue<Revocation> unsaved = new ConcurrentLinkedQueue<>();
+
+    private record Revocation(String tokenId, long expiresAtMillis, long revokedAtMillis) {
+    }
+
+    public TokenRevocationList(JdbcTemplate jdbcTemplate,
+                               @Value("${jwt.revocation.bucket:1m}") Duration bucket,
+                               @Value("${jwt.revocation.sync-overlap:1m}") Duration syncOverlap,
+                               @Value("${jwt.revocation.purge-batch-size:1000}") int purgeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bucketMillis = bucket.toMillis();
+        this.syncOverlapMillis = syncOverlap.toMillis();
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.contains(tokenId);
+    }
+
+    // 이 노드에는 바로 반영하고, 다른 노드와 재시작 이후를 위해 DB 에 남긴다.
+    // 저장에 실패해도 예외를 던지지 않는다. (로그아웃 요청은 이미 refresh token 을 지운 뒤다)
+    public void revoke(String tokenId, Date expiration) {
+        long now = System.currentTimeMillis();
+        if (!add(tokenId, expiration.getTime(), now)) {
+            return;
+        }
+        save(new Revocation(tokenId, expiration.getTime(), now));
+    }
+
+    // 기동 시 아직 만료되지 않은 폐기 내역을 모두 읽는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int count = readRevoked(System.currentTimeMillis());
+        log.info("폐기된 토큰 목록 로딩 완료: {}건", count);
+    }
+
+    // 다른 노드가 폐기한 토큰을 읽어 오고, 만료 시각이 지난 bucket 을 버린다.
+    // 커밋이 늦은 행도 놓치지 않도록 마지막 폐기 시각보다 sync-overlap 만큼 앞에서부터 다시 읽는다. (이미 있는 jti 는 건너뛴다)
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:10000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        retryUnsaved(now);
+        readRevoked(now);
+        evictExpired(now);
+    }
+
+    private boolean save(Revocation revocation) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, revocation.tokenId(),
+                    new Timestamp(revocation.expiresAtMillis()), new Timestamp(revocation.revokedAtMillis()));
+        } catch (DuplicateKeyException e) {
+            // 다른 노드에서 같은 토큰으로 먼저 로그아웃했다
+        } catch (DataAccessException e) {
+            log.error("토큰 폐기 저장 실패, 이 노드에만 반영하고 다음 동기화 때 다시 저장합니다.", e);
+            unsaved.add(revocation);
+            return false;
+        }
+        return true;
+    }
+
+    // 이미 만료된 토큰은 저장할 필요가 없다. 이번에도 실패하면 남은 것은 다음 주기로 미룬다.
+    private void retryUnsaved(long now) {
+        for (int remaining = unsaved.size(); remaining > 0; remaining--) {
+            Revocation revocation = unsaved.poll();
+            if (revocation == null) {
+                return;
+            }
+            if (revocation.expiresAtMillis() > now && !save(revocation)) {
+                return;
+            }
+        }
+    }
+
+    private int readRevoked(long now) {
+        long since = syncedUpTo == 0 ? 0 : syncedUpTo - syncOverlapMillis;
+        int[] count = {0};
+        jdbcTemplate.query(SELECT_SQL, resultSet -> {
+            long revokedAt = resultSet.getTimestamp("revoked_at").getTime();
+            if (add(resultSet.getString("token_id"), resultSet.getTimestamp("expires_at").getTime(), now)) {
+                count[0]++;
+            }
+            syncedUpTo = Math.max(syncedUpTo, revokedAt);
+        }, new Timestamp(since), new Timestamp(now));
+        return count[0];
+    }
+
+    // 만료된 행을 purge-batch-size 건씩 나눠 지운다. 트랜잭션 없이 실행하므로 문장마다 커밋된다.
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:3600000}")
+    public void purge() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("만료된 폐기 토큰 {}건 정리", purged);
+        }
+    }
+
+    // 이미 만료됐거나 목록에 있던 jti 면 false
+    private boolean add(String tokenId, long expiresAtMillis, long now) {
+        if (expiresAtMillis <= now) {
+            return false;
+        }
+        synchronized (buckets) {
+            if (!revoked.add(tokenId)) {
+                return false;
+            }
+            buckets.computeIfAbsent(expiresAtMillis / bucketMillis, key -> new ArrayList<>()).add(tokenId);
+            return true;
+        }
+    }
+
+    // bucket b 의 토큰은 모두 (b + 1) * bucketMillis 이전에 만료되므로 현재 bucket 보다 앞선 bucket 은 통째로 버린다
+    private void evictExpired(long now) {
+        synchronized (buckets) {
+            NavigableMap<Long, List<String>> expired = buckets.headMap(now / bucketMillis, false);
+            for (List<String> tokenIds : expired.values()) {
+                tokenIds.forEach(revoked::remove);
+            }
+            expired.clear();
+        }
+    }
+}
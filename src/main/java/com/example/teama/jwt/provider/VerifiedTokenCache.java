@@ -0,0 +1,67 @@
+package com.example.teama.jwt.provider;
+
+import com.example.teama.jwt.util.TokenHash;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 검증을 마친 access token 캐시
+ * 같은 토큰이 다시 오면 서명(HMAC) 검증과 claim JSON 파싱 없이 사용자 정보와 권한을 바로 돌려준다.
+ * 키는 토큰 원문 대신 SHA-256 해시라 메모리에 토큰이 남지 않고, 항목은 토큰의 만료 시각에 함께 만료된다.
+ * 검증에 실패한 토큰(만료, 위조 등)은 캐시에 올라가지 않는다. 폐기(로그아웃) 여부는 캐시와 별개로 요청마다 확인한다.
+ * hit/miss/eviction 통계는 micrometer 의 cache.* 메트릭(cache=jwt.verified)으로 노출된다.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final String CACHE_NAME = "jwt.verified";
+
+    /**
+     * 검증된 토큰의 내용. 요청마다 이 값으로 새 인증 객체를 만든다.
+     */
+    public record VerifiedToken(Long userId, String email, String userNickname,
+                                List<GrantedAuthority> authorities, long expiresAtMillis, String tokenId) {
+    }
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remaining = token.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // loader 가 예외를 던지면(검증 실패) 그대로 전달되고 아무것도 캐시되지 않는다
+    public VerifiedToken get(String token, Function<String, VerifiedToken> loader) {
+        return cache.get(TokenHash.of(token), key -> loader.apply(token));
+    }
+}
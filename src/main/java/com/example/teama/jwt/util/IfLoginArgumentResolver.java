@@ -30,8 +30,8 @@ public class IfLoginArgumentResolver implements HandlerMethodArgumentResolver {
         } catch (Exception ex) {
             return null;
         }
-        if (authentication == null) {
-            return null;
+        if (!(authentication instanceof JwtAuthenticationToken)) {
+            return null;    // 토큰 없이 들어온 요청(AnonymousAuthenticationToken)
         }
 
         JwtAuthenticationToken jwtAuthenticationToken = (JwtAuthenticationToken)authentication;
@@ -1,7 +1,9 @@
 package com.example.teama.jwt.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,52 +11,70 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
-import java.util.List;
 
 @Slf4j
 @Component
 public class JwtTokenizer {
 
-    private final byte[] accessSecret;
-    private final byte[] refreshSecret;
+    // 키와 parser 는 한 번만 만들어 재사용한다. (JwtParser 는 불변이라 여러 스레드가 함께 써도 된다)
+    private final Key accessKey;
+    private final Key refreshKey;
+    private final JwtParser accessParser;
+    private final JwtParser refreshParser;
 
     public final static Long ACCESS_TOKEN_EXPIRE_COUNT = 30 * 60 * 1000L; // 30 minutes
     public final static Long REFRESH_TOKEN_EXPIRE_COUNT = 7 * 24 * 60 * 60 * 1000L; // 7 days
 
+    // claim 키 (형식 v1)
+    static final int FORMAT_VERSION = 1;
+    static final String VERSION = "v";
+    static final String EMAIL = "e";
+    static final String NICKNAME = "n";
+    static final String ROLES = "r";
+
+    // 토큰 id(jti) 길이: 128비트 난수를 base64url 로 22자
+    public static final int TOKEN_ID_LENGTH = 22;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     public JwtTokenizer(@Value("${jwt.secretKey}") String accessSecret, @Value("${jwt.refreshKey}") String refreshSecret) {
-        this.accessSecret = accessSecret.getBytes(StandardCharsets.UTF_8);
-        this.refreshSecret = refreshSecret.getBytes(StandardCharsets.UTF_8);
+        this.accessKey = getSigningKey(accessSecret.getBytes(StandardCharsets.UTF_8));
+        this.refreshKey = getSigningKey(refreshSecret.getBytes(StandardCharsets.UTF_8));
+        this.accessParser = Jwts.parserBuilder().setSigningKey(accessKey).build();
+        this.refreshParser = Jwts.parserBuilder().setSigningKey(refreshKey).build();
     }
 
     /**
      * AccessToken 생성
      */
-    public String createAccessToken(Long id, String email, String name, List<String> roles) {
-        return createToken(id, email, name, roles, ACCESS_TOKEN_EXPIRE_COUNT, accessSecret);
+    public String createAccessToken(Long id, String email, String userNickname, long roles) {
+        return createToken(id, email, userNickname, roles, ACCESS_TOKEN_EXPIRE_COUNT, accessKey);
     }
 
     /**
      * RefreshToken 생성
      */
-    public String createRefreshToken(Long id, String email, String name, List<String> roles) {
-        return createToken(id, email, name, roles, REFRESH_TOKEN_EXPIRE_COUNT, refreshSecret);
+    public String createRefreshToken(Long id, String email, String userNickname, long roles) {
+        return createToken(id, email, userNickname, roles, REFRESH_TOKEN_EXPIRE_COUNT, refreshKey);
     }
 
 
-    private String createToken(Long id, String email, String name, List<String> roles,
-                               Long expire, byte[] secretKey) {
-        Claims claims = Jwts.claims().setSubject(email);
-
-        claims.put("roles", roles);
-        claims.put("id", id);
-        claims.put("name", name);
-
+    // claim 형식 v1: {"v":1,"jti":토큰 id,"sub":"<id>","e":email,"n":닉네임,"r":권한 bitmask,"exp":...}
+    // 키를 짧게 하고 권한은 숫자 하나로 넣는다. 비밀번호 등 요청 처리에 필요 없는 값은 넣지 않는다.
+    // jti 는 로그아웃한 토큰을 만료 전에 거절할 때(TokenRevocationList) 키로 쓴다.
+    private String createToken(Long id, String email, String userNickname, long roles,
+                               Long expire, Key secretKey) {
         return Jwts.builder()
-                .setClaims(claims)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(new Date().getTime() + expire))
-                .signWith(getSigningKey(secretKey))
+                .claim(VERSION, FORMAT_VERSION)
+                .setId(newTokenId())
+                .setSubject(String.valueOf(id))
+                .claim(EMAIL, email)
+                .claim(NICKNAME, userNickname)
+                .claim(ROLES, roles)
+                .setExpiration(new Date(System.currentTimeMillis() + expire))
+                .signWith(secretKey)
                 .compact();
     }
 
@@ -64,25 +84,35 @@ public class JwtTokenizer {
     public Long getUserIdFromToken(String token) {
         String[] tokenArr = token.split(" ");
         token = tokenArr[1];
-        Claims claims = parseToken(token, accessSecret);
-        return Long.valueOf((Integer)claims.get("id"));
+        return parseAccessToken(token).userId();
     }
 
-    public Claims parseAccessToken(String accessToken) {
-        return parseToken(accessToken, accessSecret);
+    public TokenClaims parseAccessToken(String accessToken) {
+        return toTokenClaims(accessParser.parseClaimsJws(accessToken).getBody());
     }
 
-    public Claims parseRefreshToken(String refreshToken) {
-        return parseToken(refreshToken, refreshSecret);
+    public TokenClaims parseRefreshToken(String refreshToken) {
+        return toTokenClaims(refreshParser.parseClaimsJws(refreshToken).getBody());
     }
 
+    // 형식 버전이 다른 토큰(이전 형식 포함)은 UnsupportedJwtException 으로 거절한다. (다시 로그인해야 한다)
+    private static TokenClaims toTokenClaims(Claims claims) {
+        Integer version = claims.get(VERSION, Integer.class);
+        if (version == null || version != FORMAT_VERSION) {
+            throw new UnsupportedJwtException("지원하지 않는 토큰 형식입니다. v = " + version);
+        }
+        return new TokenClaims(Long.valueOf(claims.getSubject()),
+                claims.get(EMAIL, String.class),
+                claims.get(NICKNAME, String.class),
+                claims.get(ROLES, Long.class),
+                claims.getExpiration(),
+                claims.getId());
+    }
 
-    public Claims parseToken(String token, byte[] secretKey) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey(secretKey))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String newTokenId() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
     /**
@@ -0,0 +1,61 @@
+package com.example.teama.jwt.util;
+
+import com.example.teama.entity.Role;
+import com.example.teama.persistence.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 토큰의 roles claim 을 Role 테이블 id 기준 bitmask 로 바꾼다. (role_id 1 -> 1번째 비트, 2 -> 2번째 비트 ...)
+ * ["ROLE_USER","ROLE_ADMIN"] 대신 숫자 하나(3)만 들어가므로 매 요청 헤더가 짧아진다.
+ * id -> 이름은 처음 쓸 때 Role 테이블에서 읽어 두고, 모르는 비트가 나오면 다시 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleCodec {
+    private final RoleRepository roleRepository;
+
+    private volatile Map<Long, String> names = Map.of();
+
+    public long encode(Collection<Role> roles) {
+        long mask = 0;
+        for (Role role : roles) {
+            mask |= bit(role.getRoleId());
+        }
+        return mask;
+    }
+
+    public List<String> decode(long mask) {
+        List<String> roles = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            long roleId = Long.numberOfTrailingZeros(bits) + 1L;
+            String name = names.get(roleId);
+            if (name == null) {
+                name = reload().get(roleId);
+                if (name == null) {
+                    throw new IllegalArgumentException("존재하지 않는 권한입니다. roleId = " + roleId);
+                }
+            }
+            roles.add(name);
+        }
+        return roles;
+    }
+
+    private Map<Long, String> reload() {
+        names = roleRepository.findAll().stream().collect(Collectors.toUnmodifiableMap(Role::getRoleId, Role::getName));
+        return names;
+    }
+
+    private static long bit(Long roleId) {
+        if (roleId == null || roleId < 1 || roleId > Long.SIZE) {
+            throw new IllegalArgumentException("bitmask 로 표현할 수 없는 권한입니다. roleId = " + roleId);
+        }
+        return 1L << (roleId - 1);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.teama.jwt.util;
+
+import java.util.Date;
+
+/**
+ * 토큰에서 꺼낸 사용자 정보 (claim 형식 v1)
+ * roles 는 RoleCodec 의 bitmask 다. tokenId(jti)는 토큰마다 다른 값으로, 폐기 목록의 키로 쓴다.
+ */
+public record TokenClaims(Long userId, String email, String userNickname, long roles, Date expiration, String tokenId) {
+}
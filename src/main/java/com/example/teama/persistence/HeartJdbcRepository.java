@@ -0,0 +1,129 @@
+package com.example.teama.persistence;
+
+import com.example.teama.dto.heart.HeartKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * 좋아요 JDBC repository
+ * 엔티티를 읽어오지 않고 (user_id, post_id) 만으로 한 문장씩 실행하며, 여러 건은 JDBC 배치로 묶어 보낸다.
+ * 목록 화면용 조회(좋아요 여부, 좋아요 수)도 필요한 부분만 UNION ALL 로 묶어 한 번의 왕복으로 읽는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HeartJdbcRepository {
+    // 같은 (user_id, post_id) 행이 없을 때만 추가한다. 삭제 표시된 게시글에는 추가하지 않는다.
+    private static final String INSERT_IF_ABSENT_SQL =
+            "MERGE INTO TBL_HEART h " +
+            "USING (SELECT ? AS user_id, p.id AS post_id FROM TBL_POST p WHERE p.id = ? AND p.deleted = 0) s " +
+            "ON (h.user_id = s.user_id AND h.post_id = s.post_id) " +
+            "WHEN NOT MATCHED THEN INSERT (id, user_id, post_id, like_date) " +
+            "VALUES (TBL_HEART_SEQ.NEXTVAL, s.user_id, s.post_id, SYSTIMESTAMP)";
+
+    private static final String DELETE_SQL = "DELETE FROM TBL_HEART WHERE user_id = ? AND post_id = ?";
+
+    // (user_id, post_id) 유니크 인덱스만 읽는다
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM TBL_HEART WHERE user_id = ? AND post_id = ?";
+
+    private static final String ADD_HEART_COUNT_SQL = "UPDATE TBL_POST SET heart_count = heart_count + ? WHERE id = ?";
+    // 반영 건수를 알 수 없을 때 TBL_HEART 를 다시 센다 (IX_HEART_POST 범위만 읽는다)
+    private static final String RECOUNT_SQL =
+            "UPDATE TBL_POST p SET heart_count = (SELECT COUNT(*) FROM TBL_HEART h WHERE h.post_id = p.id) WHERE p.id = ?";
+
+    // (user_id, post_id) 유니크 인덱스만 읽는다
+    private static final String LIKED_SQL = "SELECT 'L' AS kind, post_id AS id, 0 AS heart_count FROM TBL_HEART WHERE user_id = ?";
+    private static final String COUNT_SQL = "SELECT 'C' AS kind, id, heart_count FROM TBL_POST WHERE deleted = 0 AND id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 다른 요청(노드)이 같은 좋아요를 동시에 MERGE 해서 유니크 제약에 걸리면 이미 있는 것으로 본다.
+    public int insertIfAbsent(HeartKey key) {
+        try {
+            return jdbcTemplate.update(INSERT_IF_ABSENT_SQL, key.userId(), key.postId());
+        } catch (DuplicateKeyException e) {
+            return 0;
+        }
+    }
+
+    public int delete(HeartKey key) {
+        return jdbcTemplate.update(DELETE_SQL, key.userId(), key.postId());
+    }
+
+    public boolean exists(HeartKey key) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class, key.userId(), key.postId());
+        return count != null && count > 0;
+    }
+
+    // 반환값은 건별 영향 행 수 (이미 있던 좋아요는 0)
+    public int[] batchInsertIfAbsent(List<HeartKey> keys) {
+        return jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, toArgs(keys));
+    }
+
+    public int[] batchDelete(List<HeartKey> keys) {
+        return jdbcTemplate.batchUpdate(DELETE_SQL, toArgs(keys));
+    }
+
+    // 게시글 id 순으로 넘겨야 여러 인스턴스가 동시에 반영해도 행 락을 같은 순서로 잡는다 (데드락 방지)
+    public void addHeartCounts(SortedMap<Long, Long> deltas) {
+        if (!deltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_HEART_COUNT_SQL, deltas.entrySet(), deltas.size(), (ps, entry) -> {
+                ps.setLong(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+            });
+        }
+    }
+
+    public void recountHearts(SortedSet<Long> postIds) {
+        if (!postIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(RECOUNT_SQL, postIds, postIds.size(), (ps, postId) -> ps.setLong(1, postId));
+        }
+    }
+
+    // userId 가 있으면 그 사용자가 좋아요 누른 게시글 id 를 모두, postIds 가 있으면 게시글별 좋아요 수(heart_count)를 읽는다.
+    // 둘 다 필요하면 UNION ALL 한 문장으로 보낸다. IN 목록은 2의 거듭제곱 개수로 채워 같은 SQL 문장을 재사용한다.
+    public void scanStatus(Long userId, List<Long> postIds, LongConsumer liked, BiConsumer<Long, Long> heartCount) {
+        List<String> parts = new ArrayList<>(2);
+        List<Object> args = new ArrayList<>();
+        if (userId != null) {
+            parts.add(LIKED_SQL);
+            args.add(userId);
+        }
+        if (!postIds.isEmpty()) {
+            int padded = Math.max(1, Integer.highestOneBit(postIds.size() - 1) << 1);
+            parts.add(String.format(COUNT_SQL, String.join(", ", Collections.nCopies(padded, "?"))));
+            args.addAll(postIds);
+            for (int i = postIds.size(); i < padded; i++) {
+                args.add(postIds.get(postIds.size() - 1));
+            }
+        }
+        if (parts.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.query(String.join(" UNION ALL ", parts), resultSet -> {
+            long id = resultSet.getLong("id");
+            if ("L".equals(resultSet.getString("kind"))) {
+                liked.accept(id);
+            } else {
+                heartCount.accept(id, resultSet.getLong("heart_count"));
+            }
+        }, args.toArray());
+    }
+
+    private List<Object[]> toArgs(List<HeartKey> keys) {
+        return keys.stream()
+                .map(key -> new Object[]{key.userId(), key.postId()})
+                .collect(Collectors.toList());
+    }
+}
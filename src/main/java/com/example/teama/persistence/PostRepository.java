@@ -1,12 +1,71 @@
 package com.example.teama.persistence;
 
+import com.example.teama.dto.post.PostResponseDto;
+import com.example.teama.dto.post.PostSummaryDto;
+import com.example.teama.dto.post.PostVersionDto;
 import com.example.teama.entity.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long>{
-    List<Post> findAllByOrderByIdDesc();    // Using JPA Naming Convention
+    // 목록 조회용 projection - 엔티티 대신 필요한 컬럼만 한 번의 SQL 로 조회한다. 본문(BLOB)은 읽지 않고 미리 잘라 둔 snippet 만 읽는다.
+    @Query("select new com.example.teama.dto.post.PostSummaryDto(" +
+            "p.id, p.postTitle, p.postSnippet, u.id, u.userNickname, p.heartCount, p.replyCount, p.postRegisterDates, p.postUpdateDates) " +
+            "from Post p join p.user u " +
+            "order by p.id desc")
+    List<PostSummaryDto> findSummaries(Pageable pageable);
 
+    // Keyset(seek) 페이지네이션 - OFFSET 없이 id 인덱스에서 바로 다음 위치를 찾는다.
+    @Query("select new com.example.teama.dto.post.PostSummaryDto(" +
+            "p.id, p.postTitle, p.postSnippet, u.id, u.userNickname, p.heartCount, p.replyCount, p.postRegisterDates, p.postUpdateDates) " +
+            "from Post p join p.user u " +
+            "where p.id < :after " +
+            "order by p.id desc")
+    List<PostSummaryDto> findSummariesBefore(@Param("after") Long after, Pageable pageable);
 
+    // 검색 결과 등 id 목록으로 조회 (순서는 호출하는 쪽에서 맞춘다)
+    @Query("select new com.example.teama.dto.post.PostSummaryDto(" +
+            "p.id, p.postTitle, p.postSnippet, u.id, u.userNickname, p.heartCount, p.replyCount, p.postRegisterDates, p.postUpdateDates) " +
+            "from Post p join p.user u " +
+            "where p.id in :ids")
+    List<PostSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 상세 조회용 projection
+    @Query("select new com.example.teama.dto.post.PostResponseDto(" +
+            "p.id, p.postTitle, p.postContent, u.id, u.userNickname, p.heartCount, p.replyCount, p.viewCount, p.uniqueViewers, p.postRegisterDates, p.postUpdateDates) " +
+            "from Post p join p.user u " +
+            "where p.id = :id")
+    Optional<PostResponseDto> findDetailById(@Param("id") Long id);
+
+    // 여러 건 상세 조회 (순서는 호출하는 쪽에서 맞춘다)
+    // IN 목록은 hibernate.query.in_clause_parameter_padding 으로 2의 거듭제곱 개수로 채워져 같은 SQL 문장(커서)을 재사용한다.
+    @Query("select new com.example.teama.dto.post.PostResponseDto(" +
+            "p.id, p.postTitle, p.postContent, u.id, u.userNickname, p.heartCount, p.replyCount, p.viewCount, p.uniqueViewers, p.postRegisterDates, p.postUpdateDates) " +
+            "from Post p join p.user u " +
+            "where p.id in :ids")
+    List<PostResponseDto> findDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 조건부 GET 검증용 - 본문 없이 수정 시각과 좋아요 수만 읽는다.
+    @Query("select new com.example.teama.dto.post.PostVersionDto(p.id, p.postUpdateDates, p.heartCount, p.replyCount) " +
+            "from Post p " +
+            "where p.id = :id")
+    Optional<PostVersionDto> findVersionById(@Param("id") Long id);
+
+    // 댓글 수 증감 - 벌크 UPDATE 이므로 postUpdateDates 는 바뀌지 않는다.
+    @Modifying
+    @Query("update Post p set p.replyCount = p.replyCount + :delta where p.id = :id")
+    int addReplyCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // 삭제 표시만 한다. 벌크 UPDATE 이므로 postUpdateDates 는 바뀌지 않는다.
+    @Modifying
+    @Query("update Post p set p.deleted = true, p.deletedAt = :deletedAt where p.id = :id and p.deleted = false")
+    int softDelete(@Param("id") Long id, @Param("deletedAt") LocalDateTime deletedAt);
 }
@@ -2,10 +2,25 @@ package com.example.teama.persistence;
 
 import com.example.teama.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByValue(String value);
+    // 사용자 id 만 읽는다 (User 를 join 하지 않는다)
+    @Query("select r.user.id from RefreshToken r where r.tokenHash = :tokenHash and r.expiresAt > :now")
+    Optional<Long> findUserIdByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // 만료 시각 인덱스를 타고 최대 limit 건만 지운다
+    @Modifying
+    @Query(value = "DELETE FROM TBL_REFRESH_TOKEN WHERE expires_at <= :now AND ROWNUM <= :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
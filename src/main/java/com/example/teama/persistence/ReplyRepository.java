@@ -0,0 +1,57 @@
+package com.example.teama.persistence;
+
+import com.example.teama.dto.reply.ReplyResponseDto;
+import com.example.teama.entity.Reply;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ReplyRepository extends JpaRepository<Reply, Long> {
+    // 게시글의 댓글 스레드 - (post_id, path) 인덱스를 path 순으로 읽으므로 댓글 수와 상관없이 한 페이지 비용이 같다.
+    @Query("select new com.example.teama.dto.reply.ReplyResponseDto(" +
+            "r.id, r.post.id, r.parent.id, u.id, u.userNickname, r.replyContent, r.deleted, r.depth, r.path, r.replyRegisterDate, r.replyUpdateDate) " +
+            "from Reply r join r.user u " +
+            "where r.post.id = :postId " +
+            "order by r.path")
+    List<ReplyResponseDto> findThread(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("select new com.example.teama.dto.reply.ReplyResponseDto(" +
+            "r.id, r.post.id, r.parent.id, u.id, u.userNickname, r.replyContent, r.deleted, r.depth, r.path, r.replyRegisterDate, r.replyUpdateDate) " +
+            "from Reply r join r.user u " +
+            "where r.post.id = :postId and r.path > :after " +
+            "order by r.path")
+    List<ReplyResponseDto> findThreadAfter(@Param("postId") Long postId, @Param("after") String after, Pageable pageable);
+
+    // 댓글 하나와 그 아래 답글 전체 - path 접두사 검색도 같은 인덱스의 range scan 이다.
+    @Query("select new com.example.teama.dto.reply.ReplyResponseDto(" +
+            "r.id, r.post.id, r.parent.id, u.id, u.userNickname, r.replyContent, r.deleted, r.depth, r.path, r.replyRegisterDate, r.replyUpdateDate) " +
+            "from Reply r join r.user u " +
+            "where r.post.id = :postId and r.path like :prefix " +
+            "order by r.path")
+    List<ReplyResponseDto> findSubtree(@Param("postId") Long postId, @Param("prefix") String prefix, Pageable pageable);
+
+    @Query("select new com.example.teama.dto.reply.ReplyResponseDto(" +
+            "r.id, r.post.id, r.parent.id, u.id, u.userNickname, r.replyContent, r.deleted, r.depth, r.path, r.replyRegisterDate, r.replyUpdateDate) " +
+            "from Reply r join r.user u " +
+            "where r.post.id = :postId and r.path like :prefix and r.path > :after " +
+            "order by r.path")
+    List<ReplyResponseDto> findSubtreeAfter(@Param("postId") Long postId, @Param("prefix") String prefix,
+                                            @Param("after") String after, Pageable pageable);
+
+    // 댓글과 그 아래 답글 중 다른 사용자가 쓴 것이 있는지 (있으면 통째로 지우지 않는다)
+    @Query("select count(r) > 0 from Reply r where r.post.id = :postId and r.path like :prefix and r.user.id <> :userId")
+    boolean existsOtherAuthorInSubtree(@Param("postId") Long postId, @Param("prefix") String prefix, @Param("userId") Long userId);
+
+    // 댓글과 그 아래 답글 중 아직 삭제 표시되지 않은 것 (삭제 표시된 댓글은 표시할 때 이미 reply_count 에서 뺐다)
+    @Query("select count(r) from Reply r where r.post.id = :postId and r.path like :prefix and r.deleted = false")
+    long countLiveInSubtree(@Param("postId") Long postId, @Param("prefix") String prefix);
+
+    // 댓글과 그 아래 답글을 한 문장으로 삭제
+    @Modifying
+    @Query("delete from Reply r where r.post.id = :postId and r.path like :prefix")
+    int deleteSubtree(@Param("postId") Long postId, @Param("prefix") String prefix);
+}
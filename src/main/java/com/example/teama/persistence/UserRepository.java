@@ -2,6 +2,9 @@ package com.example.teama.persistence;
 
 import com.example.teama.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -15,4 +18,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     User findByUserNickname(String userNickname);
     User findByUserPhone(String userPhone);
     User findByUserPassword(String userPassword);
+
+    // 저장된 해시가 previous 와 같을 때만 바꾼다. (그 사이 비밀번호가 바뀌었으면 0)
+    @Modifying
+    @Query("update User u set u.userPassword = :rehashed where u.id = :id and u.userPassword = :previous")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("previous") String previous, @Param("rehashed") String rehashed);
 }
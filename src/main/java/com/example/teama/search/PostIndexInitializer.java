@@ -0,0 +1,186 @@
+package com.example.teama.search;
+
+import com.example.teama.entity.CompressedContentConverter;
+import com.example.teama.service.event.PostActivityEvent;
+import com.example.teama.service.event.PostChangedEvent;
+import com.example.teama.service.event.PostsSavedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 기동 시 TBL_POST 를 처음부터 끝까지 한 번 읽어 검색 색인과 제목 자동완성 trie 를 채운다.
+ * 엔티티로 올리지 않고 JDBC fetch size 단위로 흘려 읽으므로 게시글 수와 상관없이 메모리 사용량이 일정하다.
+ * 인기글 순위는 최근(half-life 의 10배 이내) 좋아요/댓글을 게시글·시간(1시간) 단위로 집계해 다시 쌓는다.
+ * 웹 서버가 요청을 받기 전에 끝나도록 SmartLifecycle 로 웹 서버보다 앞선 phase 에서 실행한다.
+ * 게시글 변경 이벤트도 여기서 받아 두 색인에 넘기며, 읽는 도중 들어온 이벤트는 모아 두었다가 다 읽은 뒤 순서대로 다시 반영한다.
+ * (읽기 시작 뒤 커밋된 변경이 스캔 결과로 덮이거나, 지워진 글이 자동완성에 남지 않도록)
+ * 일괄 등록(PostsSavedEvent)은 id 만 오므로 커밋 뒤에 chunk 단위로 제목/본문을 다시 읽어 색인한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostIndexInitializer implements SmartLifecycle {
+    private static final String SCAN_SQL = "SELECT id, post_title, post_content_z FROM TBL_POST WHERE deleted = 0";
+    private static final String SELECT_BY_IDS_SQL = "SELECT id, post_title, post_content_z FROM TBL_POST WHERE deleted = 0 AND id IN (%s)";
+    private static final int MAX_IN_LIST = 1000;   // Oracle IN 목록 최대 개수
+    private static final String HEART_ACTIVITY_SQL = "SELECT post_id, TRUNC(like_date, 'HH24') AS bucket, COUNT(*) AS cnt " +
+            "FROM TBL_HEART WHERE like_date >= ? GROUP BY post_id, TRUNC(like_date, 'HH24')";
+    private static final String REPLY_ACTIVITY_SQL = "SELECT post_id, TRUNC(reply_register_date, 'HH24') AS bucket, COUNT(*) AS cnt " +
+            "FROM TBL_REPLY WHERE reply_register_date >= ? GROUP BY post_id, TRUNC(reply_register_date, 'HH24')";
+    private static final int TRENDING_WINDOW_HALF_LIVES = 10;
+    // 웹 서버 시작(WebServerStartStopLifecycle, DEFAULT_PHASE - 1)보다 먼저
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostSearchIndex postSearchIndex;
+    private final TitleSuggestIndex titleSuggestIndex;
+    private final TrendingPostIndex trendingPostIndex;
+
+    @Value("${post.search.scan-fetch-size:500}")
+    private int fetchSize;
+
+    private final List<Object> pending = new ArrayList<>();   // 색인을 만드는 동안 들어온 변경 (PostChangedEvent, PostsSavedEvent)
+    private boolean building = true;                          // pending 락 안에서만 접근
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        try {
+            buildIndex();
+        } finally {
+            replayPending();
+        }
+        buildTrending();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // 커밋된 변경만 색인에 반영한다. (delete 처럼 트랜잭션 밖에서 발행된 이벤트는 바로 반영)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        offer(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsSaved(PostsSavedEvent event) {
+        offer(event);
+    }
+
+    private void offer(Object event) {
+        synchronized (pending) {
+            if (building) {
+                pending.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    public void buildIndex() {
+        long startedAt = System.currentTimeMillis();
+        int[] count = {0};
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, resultSet -> {
+            indexRow(resultSet);
+            count[0]++;
+        });
+
+        log.info("게시글 검색 색인 생성 완료: {}건, {}ms", count[0], System.currentTimeMillis() - startedAt);
+    }
+
+    public void buildTrending() {
+        long startedAt = System.currentTimeMillis();
+        Timestamp since = new Timestamp(startedAt - trendingPostIndex.getHalfLife().toMillis() * TRENDING_WINDOW_HALF_LIVES);
+
+        int hearts = loadActivity(HEART_ACTIVITY_SQL, since, trendingPostIndex.weightOf(PostActivityEvent.Type.HEART));
+        int replies = loadActivity(REPLY_ACTIVITY_SQL, since, trendingPostIndex.weightOf(PostActivityEvent.Type.REPLY));
+
+        log.info("인기글 순위 생성 완료: 좋아요 {}건, 댓글 {}건, {}ms", hearts, replies, System.currentTimeMillis() - startedAt);
+    }
+
+    private void replayPending() {
+        int replayed = 0;
+        while (true) {
+            List<Object> events;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    building = false;
+                    break;
+                }
+                events = new ArrayList<>(pending);
+                pending.clear();
+            }
+            events.forEach(this::apply);
+            replayed += events.size();
+        }
+        if (replayed > 0) {
+            log.info("색인 생성 중 들어온 게시글 변경 {}건 반영", replayed);
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof PostsSavedEvent saved) {
+            indexSaved(saved.getPostIds());
+            return;
+        }
+        postSearchIndex.onPostChanged((PostChangedEvent) event);
+        titleSuggestIndex.onPostChanged((PostChangedEvent) event);
+    }
+
+    private void indexSaved(List<Long> postIds) {
+        int chunkSize = Math.max(1, Math.min(fetchSize, MAX_IN_LIST));
+        for (int from = 0; from < postIds.size(); from += chunkSize) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + chunkSize, postIds.size()));
+            jdbcTemplate.query(String.format(SELECT_BY_IDS_SQL, String.join(",", Collections.nCopies(chunk.size(), "?"))),
+                    this::indexRow, chunk.toArray());
+        }
+    }
+
+    private void indexRow(ResultSet resultSet) throws SQLException {
+        long id = resultSet.getLong("id");
+        String postTitle = resultSet.getString("post_title");
+        postSearchIndex.index(id, postTitle, CompressedContentConverter.decode(resultSet.getBytes("post_content_z")));
+        titleSuggestIndex.index(id, postTitle);
+    }
+
+    private int loadActivity(String sql, Timestamp since, double weight) {
+        int[] count = {0};
+        jdbcTemplate.query(sql, resultSet -> {
+            long cnt = resultSet.getLong("cnt");
+            trendingPostIndex.record(resultSet.getLong("post_id"), weight * cnt, resultSet.getTimestamp("bucket").getTime());
+            count[0] += cnt;
+        }, since);
+        return count[0];
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.teama.search;
+
+import com.example.teama.service.event.PostChangedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글 전문 검색용 in-process 역색인
+ * 제목과 본문을 PostTokenizer 로 자른 단어마다 압축된 PostingList 를 두고, 검색 결과는 BM25 점수 순으로 돌려준다.
+ * 기동 시 PostIndexInitializer 가 TBL_POST 를 읽어 채우고, 이후에는 PostIndexInitializer 가 넘겨주는 게시글 저장/수정/삭제 이벤트로 갱신된다.
+ * 검색은 전역 락 없이 단어별 PostingList 락만 잡으므로, 색인 갱신 도중에는 일부 단어만 반영된 상태가 보일 수 있다.
+ */
+@Component
+public class PostSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;   // 제목에 나온 단어는 본문보다 두 배로 센다
+
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedPost> posts = new ConcurrentHashMap<>();   // 수정/삭제 시 어떤 posting 을 고칠지 알기 위한 정방향 색인
+    private final AtomicLong totalLength = new AtomicLong();
+
+    // 같은 게시글을 동시에 고치지 않도록 색인 갱신끼리만 줄을 세운다. 검색은 이 락을 기다리지 않는다.
+    private final Object writeLock = new Object();
+
+    private record IndexedPost(String[] terms, int length) {
+    }
+
+    public void index(Long postId, String postTitle, String postContent) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : PostTokenizer.tokenize(postTitle)) {
+            frequencies.merge(token, TITLE_BOOST, Integer::sum);
+        }
+        for (String token : PostTokenizer.tokenize(postContent)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        synchronized (writeLock) {
+            removeInternal(postId);
+            posts.put(postId, new IndexedPost(frequencies.keySet().toArray(new String[0]), length));
+            totalLength.addAndGet(length);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new PostingList()).put(postId, frequency));
+        }
+    }
+
+    public void remove(Long postId) {
+        synchronized (writeLock) {
+            removeInternal(postId);
+        }
+    }
+
+    /**
+     * @return BM25 점수가 높은 순으로 정렬된 게시글 id
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(PostTokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        int documentCount = posts.size();
+        if (documentCount == 0) {
+            return Collections.emptyList();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength.get() / documentCount);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                continue;
+            }
+
+            int documentFrequency = Math.min(postingList.size(), documentCount);
+            double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            postingList.forEach((postId, frequency) -> {
+                IndexedPost indexed = posts.get(postId);
+                if (indexed == null) {
+                    return;   // 지우는 중인 게시글
+                }
+                double normalizedLength = 1 - B + B * indexed.length() / averageLength;
+                double score = idf * frequency * (K1 + 1) / (frequency + K1 * normalizedLength);
+                scores.merge(postId, score, Double::sum);
+            });
+        }
+
+        // 점수 상위 limit 개만 남긴다 (동점이면 최신 글 우선)
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(byScore);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add(top.poll().getKey());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // 커밋된 변경을 PostIndexInitializer 가 넘겨준다. (기동 중 색인 생성과 순서를 맞추기 위해 직접 구독하지 않는다)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            remove(event.getPostId());
+        } else {
+            index(event.getPostId(), event.getPostTitle(), event.getPostContent());
+        }
+    }
+
+    private void removeInternal(Long postId) {
+        IndexedPost indexed = posts.remove(postId);
+        if (indexed == null) {
+            return;
+        }
+
+        totalLength.addAndGet(-indexed.length());
+        for (String term : indexed.terms()) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                continue;
+            }
+            postingList.remove(postId);
+            if (postingList.isEmpty()) {
+                postings.remove(term, postingList);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.teama.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검색용 토크나이저
+ * 한글/한자/가나처럼 띄어쓰기만으로 단어를 나누기 어려운 문자열은 글자 2-gram 으로,
+ * 그 외 문자(영문, 숫자 등)는 소문자로 바꾼 단어 단위로 자른다.
+ * 예) "스프링 게시판 Board" -> [스프, 프링, 게시, 시판, board]
+ */
+public final class PostTokenizer {
+
+    private PostTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (!Character.isLetterOrDigit(codePoint)) {
+                i += Character.charCount(codePoint);
+                continue;
+            }
+
+            int start = i;
+            boolean cjk = isCjk(codePoint);
+            while (i < length) {
+                int next = normalized.codePointAt(i);
+                if (!Character.isLetterOrDigit(next) || isCjk(next) != cjk) {
+                    break;
+                }
+                i += Character.charCount(next);
+            }
+
+            String word = normalized.substring(start, i);
+            if (cjk) {
+                addBigrams(word, tokens);
+            } else {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addBigrams(String word, List<String> tokens) {
+        int[] codePoints = word.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(word);
+            return;
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            tokens.add(new String(codePoints, i, 2));
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
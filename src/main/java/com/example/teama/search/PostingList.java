@@ -0,0 +1,294 @@
+package com.example.teama.search;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 한 단어의 posting list (게시글 id, 단어 빈도)
+ * 게시글 id 오름차순으로 최대 BLOCK_SIZE 개씩 블록으로 나누고, 블록 안에서는 [id 차이][빈도] 를 가변 길이 정수(varint)로 이어 붙인다.
+ * 블록마다 첫 게시글 id 를 따로 두어(skip pointer) 수정/삭제할 게시글이 든 블록을 이진 탐색으로 찾고, 그 블록만 다시 인코딩한다.
+ * 새 게시글은 id 가 가장 크므로 대부분 마지막 블록 뒤에 붙이기만 한다.
+ * 목록마다 락을 따로 두므로 한 단어의 목록을 고치는 동안 다른 단어의 검색은 기다리지 않는다.
+ */
+final class PostingList {
+    static final int BLOCK_SIZE = 128;
+
+    interface PostingConsumer {
+        void accept(long postId, int frequency);
+    }
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] firstIds = new long[1];      // 블록별 첫 게시글 id (skip pointer)
+    private byte[][] blocks = new byte[1][];
+    private int[] lengths = new int[1];          // 블록별 사용 중인 byte 수
+    private int[] counts = new int[1];           // 블록별 posting 수
+    private int blockCount;
+    private long lastPostId;                      // 마지막 블록의 마지막 게시글 id (뒤에 붙이기 판단용)
+    private volatile int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void put(long postId, int frequency) {
+        long stamp = lock.writeLock();
+        try {
+            if (blockCount == 0 || postId > lastPostId) {
+                append(postId, frequency);
+                return;
+            }
+
+            int block = blockOf(postId);
+            Block decoded = decode(block, 1);
+            decoded.put(postId, frequency);
+            if (decoded.count > BLOCK_SIZE) {
+                int half = decoded.count / 2;
+                insertBlock(block + 1);
+                encode(block + 1, decoded, half, decoded.count);
+                encode(block, decoded, 0, half);
+            } else {
+                encode(block, decoded, 0, decoded.count);
+            }
+            updateLastPostId();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void remove(long postId) {
+        long stamp = lock.writeLock();
+        try {
+            if (blockCount == 0 || postId < firstIds[0] || postId > lastPostId) {
+                return;
+            }
+
+            int block = blockOf(postId);
+            Block decoded = decode(block, 0);
+            if (!decoded.remove(postId)) {
+                return;
+            }
+
+            if (decoded.count == 0) {
+                removeBlock(block);
+            } else if (block + 1 < blockCount && decoded.count + counts[block + 1] <= BLOCK_SIZE / 2) {
+                // 삭제가 이어져 작아진 블록은 다음 블록과 합쳐 블록 수가 늘어나지 않게 한다
+                decoded.addAll(decode(block + 1, 0));
+                removeBlock(block + 1);
+                encode(block, decoded, 0, decoded.count);
+            } else {
+                encode(block, decoded, 0, decoded.count);
+            }
+            updateLastPostId();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void forEach(PostingConsumer consumer) {
+        long stamp = lock.readLock();
+        try {
+            for (int block = 0; block < blockCount; block++) {
+                byte[] data = blocks[block];
+                int position = 0;
+                long postId = firstIds[block];
+                for (int i = 0; i < counts[block]; i++) {
+                    long gap = 0;
+                    for (int shift = 0; ; shift += 7) {
+                        byte b = data[position++];
+                        gap |= (long) (b & 0x7F) << shift;
+                        if (b >= 0) {
+                            break;
+                        }
+                    }
+
+                    int frequency = 0;
+                    for (int shift = 0; ; shift += 7) {
+                        byte b = data[position++];
+                        frequency |= (b & 0x7F) << shift;
+                        if (b >= 0) {
+                            break;
+                        }
+                    }
+
+                    postId += gap;
+                    consumer.accept(postId, frequency);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // postId 가 들어갈 블록: 첫 id 가 postId 이하인 마지막 블록 (없으면 첫 블록)
+    private int blockOf(long postId) {
+        int index = Arrays.binarySearch(firstIds, 0, blockCount, postId);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    private void append(long postId, int frequency) {
+        if (blockCount == 0 || counts[blockCount - 1] == BLOCK_SIZE) {
+            insertBlock(blockCount);
+            int block = blockCount - 1;
+            firstIds[block] = postId;
+            blocks[block] = new byte[16];
+            lastPostId = postId;
+        }
+
+        int block = blockCount - 1;
+        writeVarLong(block, postId - lastPostId);
+        writeVarLong(block, frequency);
+        counts[block]++;
+        lastPostId = postId;
+        size++;
+    }
+
+    private void insertBlock(int block) {
+        if (blockCount == firstIds.length) {
+            int capacity = blockCount * 2;
+            firstIds = Arrays.copyOf(firstIds, capacity);
+            blocks = Arrays.copyOf(blocks, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int moved = blockCount - block;
+        System.arraycopy(firstIds, block, firstIds, block + 1, moved);
+        System.arraycopy(blocks, block, blocks, block + 1, moved);
+        System.arraycopy(lengths, block, lengths, block + 1, moved);
+        System.arraycopy(counts, block, counts, block + 1, moved);
+        lengths[block] = 0;
+        counts[block] = 0;
+        blockCount++;
+    }
+
+    private void removeBlock(int block) {
+        size -= counts[block];
+        int moved = blockCount - block - 1;
+        System.arraycopy(firstIds, block + 1, firstIds, block, moved);
+        System.arraycopy(blocks, block + 1, blocks, block, moved);
+        System.arraycopy(lengths, block + 1, lengths, block, moved);
+        System.arraycopy(counts, block + 1, counts, block, moved);
+        blockCount--;
+        blocks[blockCount] = null;
+    }
+
+    private void updateLastPostId() {
+        if (blockCount == 0) {
+            lastPostId = 0;
+            return;
+        }
+        Block last = decode(blockCount - 1, 0);
+        lastPostId = last.postIds[last.count - 1];
+    }
+
+    // 블록 하나를 풀어서 배열로 돌려준다. extra 는 추가로 넣을 자리 수
+    private Block decode(int block, int extra) {
+        Block decoded = new Block(counts[block] + extra);
+        byte[] data = blocks[block];
+        int position = 0;
+        long postId = firstIds[block];
+        for (int i = 0; i < counts[block]; i++) {
+            long gap = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                gap |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            int frequency = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            postId += gap;
+            decoded.postIds[i] = postId;
+            decoded.frequencies[i] = frequency;
+        }
+        decoded.count = counts[block];
+        return decoded;
+    }
+
+    // decoded 의 [from, to) 를 block 자리에 다시 인코딩한다
+    private void encode(int block, Block decoded, int from, int to) {
+        size += (to - from) - counts[block];
+        blocks[block] = new byte[Math.max(16, (to - from) * 3)];
+        lengths[block] = 0;
+        counts[block] = to - from;
+        firstIds[block] = decoded.postIds[from];
+        long previous = decoded.postIds[from];
+        for (int i = from; i < to; i++) {
+            writeVarLong(block, decoded.postIds[i] - previous);
+            writeVarLong(block, decoded.frequencies[i]);
+            previous = decoded.postIds[i];
+        }
+    }
+
+    private void writeVarLong(int block, long value) {
+        byte[] data = blocks[block];
+        int length = lengths[block];
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+            blocks[block] = data;
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+        lengths[block] = length;
+    }
+
+    // 풀어놓은 블록 (게시글 id 오름차순)
+    private static final class Block {
+        long[] postIds;
+        int[] frequencies;
+        int count;
+
+        Block(int capacity) {
+            postIds = new long[capacity];
+            frequencies = new int[capacity];
+        }
+
+        void put(long postId, int frequency) {
+            int index = Arrays.binarySearch(postIds, 0, count, postId);
+            if (index >= 0) {
+                frequencies[index] = frequency;
+                return;
+            }
+            index = -index - 1;
+            System.arraycopy(postIds, index, postIds, index + 1, count - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, count - index);
+            postIds[index] = postId;
+            frequencies[index] = frequency;
+            count++;
+        }
+
+        boolean remove(long postId) {
+            int index = Arrays.binarySearch(postIds, 0, count, postId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(postIds, index + 1, postIds, index, count - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, count - index - 1);
+            count--;
+            return true;
+        }
+
+        // 뒤에 오는 블록(모든 id 가 더 크다)을 이어 붙인다
+        void addAll(Block next) {
+            postIds = Arrays.copyOf(postIds, count + next.count);
+            frequencies = Arrays.copyOf(frequencies, count + next.count);
+            System.arraycopy(next.postIds, 0, postIds, count, next.count);
+            System.arraycopy(next.frequencies, 0, frequencies, count, next.count);
+            count += next.count;
+        }
+    }
+}
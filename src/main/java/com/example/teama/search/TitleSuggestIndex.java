@@ -0,0 +1,179 @@
+package com.example.teama.search;
+
+import com.example.teama.dto.post.PostSuggestionDto;
+import com.example.teama.service.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게시글 제목 자동완성용 trie
+ * 제목 전체와 제목 안의 각 단어 시작 위치를 키로 넣고, 노드마다 그 아래(접두사가 같은) 제목 중 최신 글 top-K 를 미리 계산해 둔다.
+ * 조회는 접두사 길이만큼 노드를 따라 내려가 배열을 읽기만 하므로 락이 없고 서브트리를 훑지 않는다.
+ * 변경(저장/수정/삭제)은 한 번에 하나씩 직렬화되어 지나간 경로의 노드만 고친다.
+ */
+@Component
+public class TitleSuggestIndex {
+    private static final PostSuggestionDto[] EMPTY = new PostSuggestionDto[0];
+
+    private final int topK;
+    private final int maxDepth;
+    private final Node root = new Node();
+    private final Map<Long, String> titles = new HashMap<>();   // 수정/삭제 시 이전 제목의 경로를 찾기 위함
+
+    public TitleSuggestIndex(@Value("${post.suggest.top-k:10}") int topK,
+                             @Value("${post.suggest.max-prefix-length:30}") int maxDepth) {
+        this.topK = topK;
+        this.maxDepth = maxDepth;
+    }
+
+    private static final class Node {
+        final Map<Integer, Node> children = new ConcurrentHashMap<>();
+        final Map<Long, PostSuggestionDto> terminals = new HashMap<>();   // 이 노드에서 키가 끝나는 제목 (쓰기 락 안에서만 접근)
+        volatile PostSuggestionDto[] top = EMPTY;                           // 서브트리 전체에서 id(최신) 순 top-K
+    }
+
+    public List<PostSuggestionDto> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        Node node = root;
+        int[] codePoints = key.codePoints().limit(maxDepth).toArray();
+        for (int codePoint : codePoints) {
+            node = node.children.get(codePoint);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+        }
+
+        PostSuggestionDto[] top = node.top;
+        return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+    }
+
+    public synchronized void index(Long postId, String postTitle) {
+        String previous = titles.get(postId);
+        if (postTitle == null || postTitle.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removeInternal(postId, previous);
+        }
+
+        PostSuggestionDto suggestion = new PostSuggestionDto(postId, postTitle);
+        for (int[] key : keys(postTitle)) {
+            Node node = root;
+            for (int codePoint : key) {
+                node = node.children.computeIfAbsent(codePoint, c -> new Node());
+                node.top = offer(node.top, suggestion);
+            }
+            node.terminals.put(postId, suggestion);
+        }
+        titles.put(postId, postTitle);
+    }
+
+    public synchronized void remove(Long postId) {
+        String previous = titles.get(postId);
+        if (previous != null) {
+            removeInternal(postId, previous);
+        }
+    }
+
+    // 커밋된 변경을 PostIndexInitializer 가 넘겨준다. (기동 중 색인 생성과 순서를 맞추기 위해 직접 구독하지 않는다)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            remove(event.getPostId());
+        } else {
+            index(event.getPostId(), event.getPostTitle());
+        }
+    }
+
+    private void removeInternal(Long postId, String postTitle) {
+        for (int[] key : keys(postTitle)) {
+            Node[] path = new Node[key.length + 1];
+            path[0] = root;
+            for (int i = 0; i < key.length && path[i] != null; i++) {
+                path[i + 1] = path[i].children.get(key[i]);
+            }
+            if (path[key.length] == null) {
+                continue;   // 같은 제목 안에서 겹치는 키라 이미 지워진 경우
+            }
+
+            path[key.length].terminals.remove(postId);
+            // 아래에서부터 top-K 를 다시 계산한다. 빠진 자리는 자식 노드의 top-K 로 채운다.
+            for (int depth = key.length; depth >= 1; depth--) {
+                Node node = path[depth];
+                node.top = recompute(node);
+                if (node.top.length == 0) {
+                    path[depth - 1].children.remove(key[depth - 1]);
+                }
+            }
+        }
+        titles.remove(postId);
+    }
+
+    private PostSuggestionDto[] offer(PostSuggestionDto[] top, PostSuggestionDto suggestion) {
+        List<PostSuggestionDto> merged = new ArrayList<>(top.length + 1);
+        boolean inserted = false;
+        for (PostSuggestionDto current : top) {
+            if (current.getId().equals(suggestion.getId())) {
+                continue;
+            }
+            if (!inserted && suggestion.getId() > current.getId()) {
+                merged.add(suggestion);
+                inserted = true;
+            }
+            merged.add(current);
+        }
+        if (!inserted) {
+            merged.add(suggestion);
+        }
+        return merged.stream().limit(topK).toArray(PostSuggestionDto[]::new);
+    }
+
+    private PostSuggestionDto[] recompute(Node node) {
+        Map<Long, PostSuggestionDto> candidates = new LinkedHashMap<>(node.terminals);
+        for (Node child : node.children.values()) {
+            for (PostSuggestionDto suggestion : child.top) {
+                candidates.putIfAbsent(suggestion.getId(), suggestion);
+            }
+        }
+        return candidates.values().stream()
+                .sorted((a, b) -> Long.compare(b.getId(), a.getId()))
+                .limit(topK)
+                .toArray(PostSuggestionDto[]::new);
+    }
+
+    // 제목 전체 + 각 단어부터 시작하는 접미사를 키로 쓴다. ("스프링 게시판" -> "스프링 게시판", "게시판")
+    private List<int[]> keys(String postTitle) {
+        String normalized = normalize(postTitle);
+        List<int[]> keys = new ArrayList<>();
+        for (int start = 0; start < normalized.length(); start++) {
+            if (start == 0 || normalized.charAt(start - 1) == ' ') {
+                keys.add(normalized.substring(start).codePoints().limit(maxDepth).toArray());
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+}
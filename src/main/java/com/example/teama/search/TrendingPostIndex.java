@@ -0,0 +1,169 @@
+package com.example.teama.search;
+
+import com.example.teama.service.event.PostActivityEvent;
+import com.example.teama.service.event.PostChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 시간 감쇠 인기글 순위
+ * 활동 하나의 점수는 weight * 2^(-경과 시간 / half-life) 이다. 모든 점수가 같은 비율로 줄어들므로
+ * 기준 시각 t0 를 두고 weight * 2^((발생 시각 - t0) / half-life) 로 더해 두면(forward decay) 시간이 지나도 다른 글의 점수를 고칠 필요가 없다.
+ * 점수 순으로 정렬된 skip list 를 유지하므로 top-K 조회는 락 없이 앞에서 K 개만 읽는다.
+ * 값이 너무 커지지 않도록 주기적으로 t0 를 현재로 옮기며 전체를 한 번 축소(rescale)하고, 그때 거의 0 이 된 글은 순위에서 뺀다.
+ */
+@Slf4j
+@Component
+public class TrendingPostIndex {
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::postId).reversed());
+
+    private final double halfLifeMillis;
+    private final double heartWeight;
+    private final double replyWeight;
+    private final double viewWeight;
+    private final double minScore;
+
+    // 갱신은 read 락을 함께 잡고(동시에 여러 스레드), rescale 은 write 락으로 상태를 통째로 바꾼다. 조회는 락을 잡지 않는다.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicReference<Ranking> ranking;
+
+    public TrendingPostIndex(@Value("${post.trending.half-life:6h}") Duration halfLife,
+                             @Value("${post.trending.weight.heart:1.0}") double heartWeight,
+                             @Value("${post.trending.weight.reply:2.0}") double replyWeight,
+                             @Value("${post.trending.weight.view:0.1}") double viewWeight) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.heartWeight = heartWeight;
+        this.replyWeight = replyWeight;
+        this.viewWeight = viewWeight;
+        this.minScore = Math.min(heartWeight, replyWeight) / 1024;   // 10 half-life 이상 지난 활동 하나 수준
+        this.ranking = new AtomicReference<>(new Ranking(System.currentTimeMillis()));
+    }
+
+    private record Ranked(double score, long postId) {
+    }
+
+    private static final class Ranking {
+        final long t0;
+        final Map<Long, Double> scores = new ConcurrentHashMap<>();
+        final ConcurrentSkipListSet<Ranked> ordered = new ConcurrentSkipListSet<>(ORDER);
+
+        Ranking(long t0) {
+            this.t0 = t0;
+        }
+    }
+
+    public Duration getHalfLife() {
+        return Duration.ofMillis((long) halfLifeMillis);
+    }
+
+    // 점수 높은 순 게시글 id, O(K)
+    // 점수가 바뀌는 중인 글은 iterator 가 이전/새 항목을 모두 볼 수 있으므로(weakly consistent) 먼저 나온 것만 쓴다.
+    public List<Long> top(int limit) {
+        if (limit < 1) {
+            return Collections.emptyList();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        Iterator<Ranked> iterator = ranking.get().ordered.iterator();
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add(iterator.next().postId());
+        }
+        return new ArrayList<>(ids);
+    }
+
+    // occurredAt 시각에 weight 만큼의 활동 (기동 시 DB 에서 다시 쌓을 때는 과거 시각으로 호출한다)
+    public void record(Long postId, double weight, long occurredAt) {
+        lock.readLock().lock();
+        try {
+            Ranking current = ranking.get();
+            double delta = weight * Math.pow(2, (occurredAt - current.t0) / halfLifeMillis);
+            current.scores.compute(postId, (id, old) -> {
+                double score = (old == null ? 0 : old) + delta;
+                if (old != null) {
+                    current.ordered.remove(new Ranked(old, id));
+                }
+                if (score <= 0) {
+                    return null;   // 취소가 더 많으면(감쇠 차이로 음수가 될 수 있다) 순위에서 뺀다
+                }
+                current.ordered.add(new Ranked(score, id));
+                return score;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.readLock().lock();
+        try {
+            Ranking current = ranking.get();
+            current.scores.computeIfPresent(postId, (id, old) -> {
+                current.ordered.remove(new Ranked(old, id));
+                return null;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double weightOf(PostActivityEvent.Type type) {
+        return switch (type) {
+            case HEART -> heartWeight;
+            case REPLY -> replyWeight;
+            case VIEW -> viewWeight;
+        };
+    }
+
+    @EventListener
+    public void onActivity(PostActivityEvent event) {
+        record(event.getPostId(), weightOf(event.getType()) * event.getDelta(), System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.DELETED) {
+            remove(event.getPostId());
+        }
+    }
+
+    // t0 를 현재 시각으로 옮기고 모든 점수를 같은 비율로 줄인다. 순서는 바뀌지 않는다.
+    @Scheduled(fixedDelayString = "${post.trending.rescale-interval:3600000}")
+    public void rescale() {
+        lock.writeLock().lock();
+        try {
+            Ranking previous = ranking.get();
+            Ranking next = new Ranking(System.currentTimeMillis());
+            double factor = Math.pow(2, -(next.t0 - previous.t0) / halfLifeMillis);
+            previous.scores.forEach((postId, score) -> {
+                double scaled = score * factor;
+                if (scaled >= minScore) {
+                    next.scores.put(postId, scaled);
+                    next.ordered.add(new Ranked(scaled, postId));
+                }
+            });
+            ranking.set(next);
+            log.debug("인기글 순위 rescale: {}건 -> {}건", previous.scores.size(), next.scores.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
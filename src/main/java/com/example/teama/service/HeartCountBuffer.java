@@ -0,0 +1,129 @@
+package com.example.teama.service;
+
+import com.example.teama.service.event.PostCountersFlushedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글별 좋아요 수 증감분 버퍼
+ * 좋아요 요청마다 TBL_POST 의 같은 행을 UPDATE 하면 인기 게시글 한 행에 락 경합이 몰린다.
+ * 요청 스레드는 게시글별 LongAdder(내부적으로 셀이 나뉘어 있어 경합이 적다)에만 더하고,
+ * 스케줄러가 모인 증감분을 배치 UPDATE 로 heart_count 컬럼에 반영한다.
+ * write-behind 를 끈 경우(heart.write-behind.enabled=false)에만 쓰인다. write-behind 는 TBL_HEART 와 heart_count 를
+ * 한 트랜잭션으로 반영하므로 이 버퍼를 거치지 않는다.
+ */
+@Slf4j
+@Component
+public class HeartCountBuffer {
+    private static final String UPDATE_SQL = "UPDATE TBL_POST SET heart_count = heart_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<Long, LongAdder> deltas = new ConcurrentHashMap<>();
+
+    // 증감 횟수. 조회 결과(DB 값 + 증감분)가 바뀌었는지만 싸게 판단할 때 쓴다. (목록 ETag)
+    private final LongAdder modifications = new LongAdder();
+
+    // flush 중인(아직 커밋되지 않은) 증감분. 반영되는 동안에도 조회 결과가 줄어들지 않도록 pending 에 포함한다.
+    private volatile Map<Long, Long> inFlight = Collections.emptyMap();
+
+    // 지난 flush 에서 맵에서 제거한 카운터. 제거 직전에 참조를 얻어간 스레드의 증감분을 다음 flush 에서 한 번 더 거둔다.
+    private final List<Map.Entry<Long, LongAdder>> retired = new ArrayList<>();
+
+    public HeartCountBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${heart.count.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    public void add(Long postId, long delta) {
+        if (delta != 0) {
+            deltas.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+            modifications.increment();
+        }
+    }
+
+    // 아직 heart_count 컬럼에 반영되지 않은 증감분
+    public long pending(Long postId) {
+        LongAdder adder = deltas.get(postId);
+        long pending = adder == null ? 0 : adder.sum();
+        return pending + inFlight.getOrDefault(postId, 0L);
+    }
+
+    public long modifications() {
+        return modifications.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${heart.count.flush-interval:1000}")
+    public synchronized void flush() {
+        // id 순으로 정렬해서 여러 인스턴스가 동시에 flush 하더라도 행 락을 같은 순서로 잡는다 (데드락 방지)
+        Map<Long, Long> drained = new TreeMap<>();
+
+        for (Map.Entry<Long, LongAdder> entry : retired) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                drained.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+        retired.clear();
+
+        for (Map.Entry<Long, LongAdder> entry : deltas.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                drained.merge(entry.getKey(), delta, Long::sum);
+            } else if (deltas.remove(entry.getKey(), entry.getValue())) {
+                // 한 주기 동안 변화가 없던 게시글은 맵에서 빼서 메모리가 계속 늘어나지 않게 한다.
+                retired.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        inFlight = drained;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, drained.entrySet(), batchSize, (ps, entry) -> {
+                        ps.setLong(1, entry.getValue());
+                        ps.setLong(2, entry.getKey());
+                    }));
+        } catch (RuntimeException e) {
+            log.error("좋아요 수 반영 실패, 다음 주기에 다시 시도합니다. posts = {}", drained.size(), e);
+            drained.forEach(this::add);
+            inFlight = Collections.emptyMap();
+            return;
+        }
+
+        // 캐시를 먼저 비운 뒤 in-flight 값을 내려야 조회 결과가 잠시라도 줄어들지 않는다.
+        eventPublisher.publishEvent(new PostCountersFlushedEvent(PostCountersFlushedEvent.Counter.HEART, drained.keySet()));
+        inFlight = Collections.emptyMap();
+    }
+
+    // graceful shutdown 시 남은 증감분을 모두 반영한다.
+    @PreDestroy
+    public void drain() {
+        flush();
+        flush();    // retired 카운터에 남은 값까지 거둔다
+    }
+}
@@ -1,37 +1,116 @@
 package com.example.teama.service;
 
-import com.example.teama.dto.heart.HeartRequestDto;
-import com.example.teama.entity.Heart;
-import com.example.teama.entity.Post;
-import com.example.teama.entity.User;
-import com.example.teama.persistence.HeartRepository;
-import com.example.teama.persistence.PostRepository;
-import com.example.teama.persistence.UserRepository;
+import com.example.teama.dto.heart.HeartKey;
+import com.example.teama.dto.heart.HeartStatusDto;
+import com.example.teama.dto.post.PostResponseDto;
+import com.example.teama.persistence.HeartJdbcRepository;
+import com.example.teama.service.event.PostActivityEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class HeartService {
 
-    private HeartRepository heartRepository;
-    private UserRepository userRepository;
-    private PostRepository postRepository;
+    private final HeartWriteBehindBuffer heartWriteBehindBuffer;
+    private final HeartJdbcRepository heartJdbcRepository;
+    private final HeartCountBuffer heartCountBuffer;
+    private final LikedPostCache likedPostCache;
+    private final PostCache postCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${heart.write-behind.enabled:true}")
+    private boolean writeBehind;
+
+    @Value("${heart.status.max-size:100}")
+    private int maxStatusSize;
 
 
     // 좋아요 추가
-    public void addHeart(HeartRequestDto requestDto) {
-        User user = userRepository.findById(requestDto.getUserId().getId())
-                .orElseThrow(() -> new RuntimeException("사용자 없음"));      // HeartRequestDto에서 userId를 가져와서 UserRepository에서 user 탐색
-        Post post = postRepository.findById(requestDto.getPostId().getId())
-                .orElseThrow(() -> new RuntimeException("게시물 없음"));      // HeartRequestDto에서 postId를 가져와서 PostRepository에서 post 탐색
-        Heart heart = Heart.builder().user(user).post(post).build();        // user와 post를 찾았다면 Heart 엔터티를 생성합니다.
-        heartRepository.save(heart);  // 생성된 Heart 엔터티를 HeartRepository를 통해 저장
+    // write-behind 사용 시 로그에 기록한 뒤 바로 응답하고, TBL_HEART 와 좋아요 수는 HeartWriteBehindBuffer 가 모아서 반영한다.
+    // 사용하지 않으면 MERGE 한 문장으로 바로 반영한다. 어느 쪽이든 (user_id, post_id) 유니크 제약 아래에서 중복 좋아요는 생기지 않는다.
+    public void addHeart(Long userId, Long postId) {
+        if (writeBehind) {
+            heartWriteBehindBuffer.add(userId, postId);
+        } else {
+            applied(postId, heartJdbcRepository.insertIfAbsent(new HeartKey(userId, postId)));
+        }
+        likedPostCache.update(userId, postId, true);
     }
 
     // 좋아요 취소
-    public void removeHeart(HeartRequestDto requestDto) {
-        heartRepository.deleteByUserIdAndPostId(requestDto.getUserId(), requestDto.getPostId());    // HeartRequestDto에서 userId와 postId를 가져와서 해당하는 좋아요 삭제
+    // DELETE 한 문장으로 끝나며, 이미 취소된 좋아요를 다시 취소해도 아무 일도 일어나지 않는다.
+    public void removeHeart(Long userId, Long postId) {
+        if (writeBehind) {
+            heartWriteBehindBuffer.remove(userId, postId);
+        } else {
+            applied(postId, -heartJdbcRepository.delete(new HeartKey(userId, postId)));
+        }
+        likedPostCache.update(userId, postId, false);
+    }
+
+    // 목록 화면용 좋아요 상태
+    // 게시글별 좋아요 수와 이 사용자가 눌렀는지를 요청 순서대로 돌려준다. 없거나 삭제된 게시글은 빠진다.
+    // 좋아요 여부는 사용자별 bitmap 캐시에서, 좋아요 수는 상세 캐시에서 먼저 찾고, 모자란 부분만 DB 한 번의 왕복(UNION ALL)으로 읽는다.
+    public List<HeartStatusDto> findStatuses(Long userId, List<Long> postIds) {
+        if (postIds == null || postIds.isEmpty() || postIds.size() > maxStatusSize) {
+            throw new IllegalArgumentException("postIds 는 1개 이상 " + maxStatusSize + "개 이하여야 합니다.");
+        }
+
+        Map<Long, Long> heartCounts = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long postId : new LinkedHashSet<>(postIds)) {
+            PostResponseDto cached = postCache.getIfPresent(postId);
+            if (cached != null) {
+                heartCounts.put(postId, cached.getHeartCount());
+            } else {
+                misses.add(postId);
+            }
+        }
+
+        // bitmap 을 새로 만들어야 하면 좋아요 수도 같은 문장으로 함께 읽는다
+        boolean[] countsLoaded = {misses.isEmpty()};
+        PostIdBitmap liked = likedPostCache.get(userId, key -> {
+            Map<Long, Boolean> pending = heartWriteBehindBuffer.pendingFor(key);   // DB 보다 먼저 읽는다
+            PostIdBitmap bitmap = new PostIdBitmap();
+            heartJdbcRepository.scanStatus(key, misses, bitmap::add, heartCounts::put);
+            pending.forEach((postId, added) -> {
+                if (added) {
+                    bitmap.add(postId);
+                } else {
+                    bitmap.remove(postId);
+                }
+            });
+            countsLoaded[0] = true;
+            return bitmap;
+        });
+        if (!countsLoaded[0]) {
+            heartJdbcRepository.scanStatus(null, misses, id -> { }, heartCounts::put);
+        }
+
+        List<HeartStatusDto> statuses = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            Long heartCount = heartCounts.get(postId);
+            if (heartCount != null) {
+                statuses.add(new HeartStatusDto(postId, heartCount + heartCountBuffer.pending(postId) + heartWriteBehindBuffer.pending(postId), liked.contains(postId)));
+            }
+        }
+        return statuses;
+    }
+
+    // 즉시 반영한 좋아요는 좋아요 수 버퍼에 더하고 인기글 순위에 알린다
+    private void applied(Long postId, long delta) {
+        if (delta != 0) {
+            heartCountBuffer.add(postId, delta);
+            eventPublisher.publishEvent(PostActivityEvent.heart(postId, delta));
+        }
     }
-}
\ No newline at end of file
+}
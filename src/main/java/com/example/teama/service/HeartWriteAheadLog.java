@@ -0,0 +1,193 @@
+package com.example.teama.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 좋아요 추가/취소 이벤트를 기록하는 memory-mapped 추가 전용 로그 (write-ahead log)
+ * 레코드: [op 1byte][userId 8byte][postId 8byte][crc32 4byte]
+ * 세그먼트 파일은 segmentSize 만큼 미리 잡혀 0 으로 채워져 있으므로, op 가 0 이거나 crc 가 맞지 않는 지점이 로그의 끝이다.
+ * 스레드 안전하지 않다. HeartWriteBehindBuffer 의 락 안에서만 호출한다.
+ */
+@Slf4j
+class HeartWriteAheadLog implements Closeable {
+    static final byte OP_ADD = 1;
+    static final byte OP_REMOVE = 2;
+
+    private static final int PAYLOAD_SIZE = 1 + Long.BYTES + Long.BYTES;
+    private static final int RECORD_SIZE = PAYLOAD_SIZE + Integer.BYTES;
+    private static final String PREFIX = "heart-";
+    private static final String SUFFIX = ".wal";
+
+    interface RecordConsumer {
+        void accept(byte op, long userId, long postId);
+    }
+
+    private final Path dir;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final CRC32 crc = new CRC32();
+
+    // 다 찼거나 rotate 로 닫힌 세그먼트. DB 반영이 끝나야 지울 수 있다.
+    private final List<Path> sealed = new ArrayList<>();
+
+    private long nextSegmentNo;
+    private Path currentPath;
+    private FileChannel currentChannel;
+    private MappedByteBuffer current;
+
+    HeartWriteAheadLog(Path dir, int segmentSize, boolean fsync) {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+    }
+
+    /**
+     * 이전 실행에서 남은 세그먼트를 번호 순으로 읽어 consumer 에 넘기고 새 세그먼트를 연다.
+     * 읽은 세그먼트는 다음 rotate() 결과에 포함되어 DB 반영 후 삭제된다.
+     */
+    void recover(RecordConsumer consumer) throws IOException {
+        Files.createDirectories(dir);
+
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            segments = files.filter(this::isSegment).sorted().collect(Collectors.toList());
+        }
+
+        for (Path segment : segments) {
+            int count = replay(segment, consumer);
+            log.info("좋아요 로그 복구: {} ({}건)", segment.getFileName(), count);
+            sealed.add(segment);
+            nextSegmentNo = Math.max(nextSegmentNo, segmentNo(segment) + 1);
+        }
+
+        openSegment();
+    }
+
+    void append(byte op, long userId, long postId) throws IOException {
+        if (current.remaining() < RECORD_SIZE) {
+            sealCurrent();
+            openSegment();
+        }
+
+        int start = current.position();
+        current.put(op).putLong(userId).putLong(postId);
+        current.putInt(checksum(current, start));
+        if (fsync) {
+            current.force(start, RECORD_SIZE);
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 닫고 새 세그먼트를 연 뒤, 지금까지 닫힌 세그먼트 목록을 넘긴다.
+     * 반환된 세그먼트의 레코드는 모두 호출 시점의 메모리 버퍼에 반영되어 있다.
+     */
+    List<Path> rotate() throws IOException {
+        if (current.position() > 0) {
+            sealCurrent();
+            openSegment();
+        }
+
+        List<Path> segments = new ArrayList<>(sealed);
+        sealed.clear();
+        return segments;
+    }
+
+    // DB 반영에 실패한 세그먼트를 다음 rotate 때 다시 넘겨주도록 되돌린다.
+    void restore(List<Path> segments) {
+        sealed.addAll(0, segments);
+    }
+
+    void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("좋아요 로그 세그먼트 삭제 실패: {}", segment, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (currentChannel == null) {
+            return;
+        }
+
+        boolean empty = current.position() == 0;
+        current.force();
+        currentChannel.close();
+        if (empty) {
+            Files.deleteIfExists(currentPath);
+        }
+        currentChannel = null;
+    }
+
+    private int replay(Path segment, RecordConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            int count = 0;
+            while (buffer.remaining() >= RECORD_SIZE) {
+                int start = buffer.position();
+                byte op = buffer.get();
+                if (op == 0) {
+                    break;
+                }
+
+                long userId = buffer.getLong();
+                long postId = buffer.getLong();
+                if (buffer.getInt() != checksum(buffer, start)) {
+                    log.warn("좋아요 로그 레코드 손상, 이후 레코드는 무시합니다: {} offset {}", segment.getFileName(), start);
+                    break;
+                }
+
+                consumer.accept(op, userId, postId);
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private void openSegment() throws IOException {
+        currentPath = dir.resolve(String.format("%s%019d%s", PREFIX, nextSegmentNo++, SUFFIX));
+        currentChannel = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        current = currentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private void sealCurrent() throws IOException {
+        current.force();
+        currentChannel.close();
+        sealed.add(currentPath);
+    }
+
+    private int checksum(ByteBuffer buffer, int offset) {
+        crc.reset();
+        crc.update(buffer.slice(offset, PAYLOAD_SIZE));
+        return (int) crc.getValue();
+    }
+
+    private boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private long segmentNo(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.heart.HeartKey;
+import com.example.teama.persistence.HeartJdbcRepository;
+import com.example.teama.service.event.PostActivityEvent;
+import com.example.teama.service.event.PostCountersFlushedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * 좋아요 쓰기 지연(write-behind) 버퍼
+ * 요청 스레드는 이벤트를 로컬 memory-mapped 로그에 남기고 (사용자, 게시글)별 마지막 상태만 메모리에 합쳐둔다.
+ * 빠르게 눌렀다 취소한 좋아요는 서로 상쇄되어 DB 까지 가지 않는다.
+ * 스케줄러가 모인 상태를 TBL_HEART 에 JDBC 배치로 반영하면서 같은 트랜잭션에서 게시글의 heart_count 도 갱신하고,
+ * 커밋이 끝난 로그 세그먼트를 지운다.
+ * 프로세스가 비정상 종료되면 다음 기동 시 남은 로그를 다시 읽어 반영하므로 응답한 좋아요는 유실되지 않는다.
+ * 반영 전 좋아요 수는 (사용자, 게시글)마다 DB 에 반영된 상태(base)와 마지막 상태의 차이를 게시글별로 더해 둔 값이다.
+ * 조회는 HeartCountBuffer 와 같이 "DB 값 + 증감분" 으로 읽는다. 로그에서 복구한 좋아요는 base 를 모르므로 반영될 때까지 수에 넣지 않는다.
+ */
+@Slf4j
+@Component
+public class HeartWriteBehindBuffer {
+
+    private final HeartJdbcRepository heartJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final HeartWriteAheadLog writeAheadLog;
+
+    // append 와 rotate 를 같은 락으로 묶어서, 닫힌 세그먼트의 레코드는 항상 drain 되는 pending 에 들어 있게 한다.
+    private final ReentrantLock lock = new ReentrantLock();
+    // userId -> (postId -> 마지막 상태). 사용자별로 묶어 pendingFor 가 그 사용자 것만 읽는다. (lock 안에서만 접근)
+    private Map<Long, Map<Long, PendingHeart>> pending = new HashMap<>();
+    private final Object flushLock = new Object();
+
+    // flush 중인(아직 커밋되지 않은) 상태. 반영되는 동안에도 좋아요 여부 조회(pendingFor)에서 빠지지 않게 한다.
+    // flush 가 떼어 낸 pending 을 그대로 쓰며, 이후에는 아무도 고치지 않는다. (lock 안에서만 접근)
+    private Map<Long, Map<Long, PendingHeart>> inFlight = Collections.emptyMap();
+
+    // 끝난 flush 수. DB 에서 읽은 base 가 그 사이 반영으로 낡지 않았는지 확인한다. (lock 안에서만 접근)
+    private long flushes;
+
+    // 게시글별 좋아요 수 증감분. 고치는 것은 lock 안에서만 하고, 조회는 락 없이 한 번에 읽은 스냅샷으로 한다.
+    private volatile PendingCounts counts = new PendingCounts(new ConcurrentHashMap<>(), Collections.emptyMap());
+
+    // 좋아요 상태가 바뀐 횟수 (목록 ETag)
+    private final LongAdder modifications = new LongAdder();
+
+    /**
+     * 반영 전 좋아요 상태
+     * base 는 DB 에 반영된 상태이고, 로그에서 복구해 모르는 경우 null 이다.
+     */
+    private record PendingHeart(boolean liked, Boolean base) {
+        long delta() {
+            return base == null || base == liked ? 0 : (liked ? 1 : -1);
+        }
+    }
+
+    // pending 과 inFlight 의 게시글별 증감분. 둘을 한 번에 바꿔야 flush 중 조회에서 두 번 세거나 빠지지 않는다.
+    private record PendingCounts(Map<Long, Long> pending, Map<Long, Long> inFlight) {
+    }
+
+    public HeartWriteBehindBuffer(HeartJdbcRepository heartJdbcRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${heart.write-behind.dir:./data/heart-wal}") String dir,
+                                  @Value("${heart.write-behind.segment-size:4194304}") int segmentSize,
+                                  @Value("${heart.write-behind.fsync:false}") boolean fsync) {
+        this.heartJdbcRepository = heartJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.writeAheadLog = new HeartWriteAheadLog(Path.of(dir), segmentSize, fsync);
+    }
+
+    // 이전 실행에서 DB 에 반영하지 못한 로그를 다시 읽는다. 다음 flush 때 함께 반영된다.
+    @PostConstruct
+    public void recover() {
+        int[] recovered = {0};
+        lock.lock();
+        try {
+            writeAheadLog.recover((op, userId, postId) -> {
+                put(userId, postId, new PendingHeart(op == HeartWriteAheadLog.OP_ADD, null));
+                recovered[0]++;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("좋아요 로그 복구 실패", e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (recovered[0] > 0) {
+            log.info("좋아요 로그에서 {}건을 복구했습니다.", recovered[0]);
+        }
+    }
+
+    public void add(Long userId, Long postId) {
+        append(HeartWriteAheadLog.OP_ADD, userId, postId);
+    }
+
+    public void remove(Long userId, Long postId) {
+        append(HeartWriteAheadLog.OP_REMOVE, userId, postId);
+    }
+
+    // 이전 상태가 버퍼에 없으면 락 밖에서 DB 를 읽고, 그 사이 flush 가 끝났으면 다시 읽는다.
+    private void append(byte op, Long userId, Long postId) {
+        boolean liked = op == HeartWriteAheadLog.OP_ADD;
+        PendingHeart persisted = null;
+        long observed = -1;
+        while (true) {
+            lock.lock();
+            try {
+                PendingHeart previous = previous(userId, postId);
+                if (previous == null && observed == flushes) {
+                    previous = persisted;
+                }
+                if (previous != null) {
+                    writeAheadLog.append(op, userId, postId);
+                    PendingHeart next = new PendingHeart(liked, previous.base());
+                    put(userId, postId, next);
+                    addCount(counts.pending(), postId, next.delta() - previous.delta());
+                    modifications.increment();
+                    return;
+                }
+                observed = flushes;
+            } catch (IOException e) {
+                throw new UncheckedIOException("좋아요 로그 기록 실패", e);
+            } finally {
+                lock.unlock();
+            }
+
+            boolean exists = heartJdbcRepository.exists(new HeartKey(userId, postId));
+            persisted = new PendingHeart(exists, exists);
+        }
+    }
+
+    // 아직 TBL_HEART 에 반영되지 않은 좋아요 수 증감분
+    public long pending(Long postId) {
+        PendingCounts snapshot = counts;
+        return snapshot.pending().getOrDefault(postId, 0L) + snapshot.inFlight().getOrDefault(postId, 0L);
+    }
+
+    public long modifications() {
+        return modifications.sum();
+    }
+
+    // 아직 TBL_HEART 에 반영되지 않은 이 사용자의 좋아요 상태 (postId -> 좋아요 여부)
+    // DB 를 읽기 전에 호출해야 한다. 읽는 사이 커밋된 상태도 여기 들어 있으므로 DB 결과 위에 덮어쓰면 된다.
+    public Map<Long, Boolean> pendingFor(Long userId) {
+        Map<Long, Boolean> states = new HashMap<>();
+        lock.lock();   // pending -> inFlight 로 옮겨지는 순간과 겹치지 않게 둘 다 락 안에서 읽는다
+        try {
+            inFlight.getOrDefault(userId, Collections.emptyMap()).forEach((postId, heart) -> states.put(postId, heart.liked()));
+            pending.getOrDefault(userId, Collections.emptyMap()).forEach((postId, heart) -> states.put(postId, heart.liked()));
+        } finally {
+            lock.unlock();
+        }
+        return states;
+    }
+
+    // 마지막 상태와 base. flush 중인 상태는 커밋되면 DB 상태가 되므로 그 상태를 base 로 삼는다. (lock 안에서 호출한다)
+    private PendingHeart previous(Long userId, Long postId) {
+        PendingHeart heart = pending.getOrDefault(userId, Collections.emptyMap()).get(postId);
+        if (heart != null) {
+            return heart;
+        }
+        heart = inFlight.getOrDefault(userId, Collections.emptyMap()).get(postId);
+        return heart == null ? null : new PendingHeart(heart.liked(), heart.liked());
+    }
+
+    // lock 안에서 호출한다
+    private void put(Long userId, Long postId, PendingHeart heart) {
+        pending.computeIfAbsent(userId, id -> new HashMap<>()).put(postId, heart);
+    }
+
+    private static void addCount(Map<Long, Long> counts, Long postId, long delta) {
+        if (delta != 0) {
+            counts.compute(postId, (id, count) -> {
+                long sum = (count == null ? 0 : count) + delta;
+                return sum == 0 ? null : sum;
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${heart.write-behind.flush-interval:500}")
+    public void flush() {
+        synchronized (flushLock) {
+            List<Path> segments;
+            Map<Long, Map<Long, PendingHeart>> drained;
+
+            lock.lock();
+            try {
+                segments = writeAheadLog.rotate();
+                drained = pending;
+                inFlight = drained;
+                pending = new HashMap<>();
+                counts = new PendingCounts(new ConcurrentHashMap<>(), counts.pending());
+            } catch (IOException e) {
+                log.error("좋아요 로그 세그먼트 교체 실패", e);
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!drained.isEmpty()) {
+                Map<HeartKey, Boolean> batch = new HashMap<>();
+                drained.forEach((userId, hearts) ->
+                        hearts.forEach((postId, heart) -> batch.put(new HeartKey(userId, postId), heart.liked())));
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    log.error("좋아요 반영 실패, 다음 주기에 다시 시도합니다. hearts = {}", batch.size(), e);
+                    lock.lock();
+                    try {
+                        restore(drained);
+                        writeAheadLog.restore(segments);
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                }
+            }
+
+            // 캐시를 먼저 비운(write 안에서 이벤트 발행) 뒤 in-flight 값을 내려야 조회 결과가 잠시라도 줄어들지 않는다.
+            lock.lock();
+            try {
+                inFlight = Collections.emptyMap();
+                counts = new PendingCounts(counts.pending(), Collections.emptyMap());
+                flushes++;
+            } finally {
+                lock.unlock();
+            }
+            writeAheadLog.delete(segments);
+        }
+    }
+
+    // 반영하지 못한 상태를 pending 으로 되돌린다. (lock 안에서 호출한다)
+    // 그 사이 들어온 더 최신 상태는 유지하되, DB 는 그대로이므로 base 는 되돌린 상태의 것을 쓴다.
+    private void restore(Map<Long, Map<Long, PendingHeart>> drained) {
+        Map<Long, Long> restored = new ConcurrentHashMap<>(counts.pending());
+        drained.forEach((userId, hearts) -> hearts.forEach((postId, heart) -> {
+            Map<Long, PendingHeart> userPending = pending.computeIfAbsent(userId, id -> new HashMap<>());
+            PendingHeart newer = userPending.get(postId);
+            PendingHeart merged = newer == null ? heart : new PendingHeart(newer.liked(), heart.base());
+            userPending.put(postId, merged);
+            addCount(restored, postId, merged.delta() - (newer == null ? 0 : newer.delta()));
+        }));
+        inFlight = Collections.emptyMap();
+        counts = new PendingCounts(restored, Collections.emptyMap());
+        flushes++;
+    }
+
+    // TBL_HEART 반영과 heart_count 갱신을 한 트랜잭션으로 커밋한다.
+    // 커밋 뒤 로그를 지우기 전에 죽으면 다음 기동 때 다시 실행하는 MERGE/DELETE 가 0건이라 수가 두 번 더해지지 않고,
+    // 커밋 전에 죽으면 둘 다 반영되지 않으므로 heart_count 가 실제 좋아요 행 수와 어긋나지 않는다.
+    private void write(Map<HeartKey, Boolean> batch) {
+        List<HeartKey> inserts = new ArrayList<>();
+        List<HeartKey> deletes = new ArrayList<>();
+        batch.forEach((key, liked) -> (liked ? inserts : deletes).add(key));
+
+        HeartCounts counts;
+        try {
+            counts = transactionTemplate.execute(status -> {
+                HeartCounts applied = new HeartCounts();
+                applied.collect(inserts, heartJdbcRepository.batchInsertIfAbsent(inserts), 1);
+                applied.collect(deletes, heartJdbcRepository.batchDelete(deletes), -1);
+                applied.apply(heartJdbcRepository);
+                return applied;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 그 사이 삭제된 게시글/사용자에 대한 좋아요가 섞여 있으면 배치 전체가 실패한다. 한 건씩 다시 반영한다.
+            log.warn("좋아요 배치 반영 중 제약조건 위반, 한 건씩 다시 시도합니다.", e);
+            writeOneByOne(inserts, deletes);
+            return;
+        }
+        counts.publish(eventPublisher);
+    }
+
+    // 한 건씩 좋아요와 heart_count 를 같은 트랜잭션으로 반영한다.
+    private void writeOneByOne(List<HeartKey> inserts, List<HeartKey> deletes) {
+        HeartCounts counts = new HeartCounts();
+        for (HeartKey key : inserts) {
+            try {
+                counts.add(writeOne(key, () -> heartJdbcRepository.insertIfAbsent(key), 1));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("존재하지 않는 게시글/사용자의 좋아요는 버립니다. userId = {}, postId = {}", key.userId(), key.postId());
+            }
+        }
+        for (HeartKey key : deletes) {
+            counts.add(writeOne(key, () -> heartJdbcRepository.delete(key), -1));
+        }
+        counts.publish(eventPublisher);
+    }
+
+    private HeartCounts writeOne(HeartKey key, IntSupplier statement, int sign) {
+        return transactionTemplate.execute(status -> {
+            HeartCounts applied = new HeartCounts();
+            applied.collect(List.of(key), new int[]{statement.getAsInt()}, sign);
+            applied.apply(heartJdbcRepository);
+            return applied;
+        });
+    }
+
+    /**
+     * 한 번의 반영에서 게시글별 좋아요 수 증감분
+     * 드라이버가 건별 결과를 주지 않은(SUCCESS_NO_INFO) 게시글은 증감분을 추측하지 않고 TBL_HEART 를 다시 센다.
+     */
+    private static final class HeartCounts {
+        private final SortedMap<Long, Long> deltas = new TreeMap<>();
+        private final SortedSet<Long> recount = new TreeSet<>();
+
+        void collect(List<HeartKey> keys, int[] updateCounts, int sign) {
+            for (int i = 0; i < keys.size(); i++) {
+                Long postId = keys.get(i).postId();
+                if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                    recount.add(postId);
+                } else if (updateCounts[i] > 0) {
+                    deltas.merge(postId, (long) sign * updateCounts[i], Long::sum);
+                }
+            }
+        }
+
+        void add(HeartCounts other) {
+            other.deltas.forEach((postId, delta) -> deltas.merge(postId, delta, Long::sum));
+            recount.addAll(other.recount);
+        }
+
+        void apply(HeartJdbcRepository heartJdbcRepository) {
+            deltas.keySet().removeAll(recount);
+            deltas.values().removeIf(delta -> delta == 0);
+            heartJdbcRepository.addHeartCounts(deltas);
+            heartJdbcRepository.recountHearts(recount);
+        }
+
+        // 커밋된 뒤에 캐시 무효화(PostCountersFlushedEvent)와 인기글 순위(PostActivityEvent)에 알린다.
+        // 다시 센 게시글은 증감분을 모르므로 인기글 순위에는 반영하지 않는다.
+        void publish(ApplicationEventPublisher eventPublisher) {
+            Set<Long> postIds = new TreeSet<>(deltas.keySet());
+            postIds.addAll(recount);
+            if (postIds.isEmpty()) {
+                return;
+            }
+            eventPublisher.publishEvent(new PostCountersFlushedEvent(PostCountersFlushedEvent.Counter.HEART, postIds));
+            deltas.forEach((postId, delta) -> eventPublisher.publishEvent(PostActivityEvent.heart(postId, delta)));
+        }
+    }
+
+    // graceful shutdown 시 남은 좋아요를 반영하고 로그를 닫는다. 반영에 실패한 로그는 다음 기동 때 복구된다.
+    @PreDestroy
+    public void close() throws IOException {
+        flush();
+        lock.lock();
+        try {
+            writeAheadLog.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
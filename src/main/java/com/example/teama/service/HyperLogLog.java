@@ -0,0 +1,129 @@
+package com.example.teama.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 게시글별 순 방문자 수 추정용 HyperLogLog (p = 10, 레지스터 1024개, 표준 오차 약 3.25%)
+ * 메모리에서는 레지스터를 int 배열로 두고 CAS 로 최댓값만 갱신하므로 기록에 락이 없다.
+ * DB 에는 레지스터 하나를 6bit 로 묶은 768byte 로 저장하고, flush 때 저장된 값과 레지스터별 max 로 합친다.
+ */
+final class HyperLogLog {
+    static final int PRECISION = 10;
+    static final int REGISTERS = 1 << PRECISION;
+    static final int REGISTER_BITS = 6;
+    static final int PACKED_BYTES = REGISTERS * REGISTER_BITS / Byte.SIZE;   // 768
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    private static final int REGISTER_MASK = (1 << REGISTER_BITS) - 1;
+
+    private final AtomicIntegerArray registers = new AtomicIntegerArray(REGISTERS);
+    private final AtomicBoolean modified = new AtomicBoolean();
+
+    void offer(String value) {
+        long hash = hash64(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // 나머지 54bit 의 선행 0 개수 + 1 (최대 55, 6bit 에 들어간다)
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+
+        int current = registers.get(index);
+        while (current < rank) {
+            if (registers.compareAndSet(index, current, rank)) {
+                modified.set(true);   // 레지스터를 먼저 바꾸고 표시한다
+                return;
+            }
+            current = registers.get(index);
+        }
+    }
+
+    // 마지막 호출 이후 레지스터가 바뀌었는지 (호출하면 표시를 지운다)
+    boolean takeModified() {
+        return modified.getAndSet(false);
+    }
+
+    // 레지스터를 모두 비운다. (다 쓴 sketch 를 다시 쓰기 위해)
+    void clear() {
+        for (int i = 0; i < REGISTERS; i++) {
+            registers.set(i, 0);
+        }
+        modified.set(false);
+    }
+
+    // 다른 메모리 sketch 의 레지스터를 합친다. (flush 실패 시 되돌릴 때)
+    void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            int rank = other.registers.get(i);
+            int current = registers.get(i);
+            while (current < rank && !registers.compareAndSet(i, current, rank)) {
+                current = registers.get(i);
+            }
+        }
+    }
+
+    // 저장된 packed 레지스터(없으면 null)와 합친 새 packed 배열
+    byte[] mergeInto(byte[] packed) {
+        byte[] merged = new byte[PACKED_BYTES];
+        for (int i = 0; i < REGISTERS; i++) {
+            int stored = packed == null || packed.length != PACKED_BYTES ? 0 : get(packed, i);
+            set(merged, i, Math.max(stored, registers.get(i)));
+        }
+        return merged;
+    }
+
+    static long estimate(byte[] packed) {
+        double sum = 0;
+        int zeros = 0;
+        for (int i = 0; i < REGISTERS; i++) {
+            int rank = get(packed, i);
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);   // 작은 값은 linear counting 이 더 정확하다
+        }
+        return Math.round(estimate);
+    }
+
+    private static int get(byte[] packed, int index) {
+        int bit = index * REGISTER_BITS;
+        int offset = bit >>> 3;
+        int shift = bit & 7;
+        int value = packed[offset] & 0xFF;
+        if (shift + REGISTER_BITS > Byte.SIZE) {
+            value |= (packed[offset + 1] & 0xFF) << Byte.SIZE;
+        }
+        return (value >>> shift) & REGISTER_MASK;
+    }
+
+    private static void set(byte[] packed, int index, int rank) {
+        int bit = index * REGISTER_BITS;
+        int offset = bit >>> 3;
+        int shift = bit & 7;
+        packed[offset] = (byte) ((packed[offset] & ~(REGISTER_MASK << shift)) | (rank << shift));
+        if (shift + REGISTER_BITS > Byte.SIZE) {
+            int high = rank >>> (Byte.SIZE - shift);
+            int highMask = REGISTER_MASK >>> (Byte.SIZE - shift);
+            packed[offset + 1] = (byte) ((packed[offset + 1] & ~highMask) | high);
+        }
+    }
+
+    // FNV-1a 64 + murmur3 fmix64 (상위 비트까지 고르게 섞는다)
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb3fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
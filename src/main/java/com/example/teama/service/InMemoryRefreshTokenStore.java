@@ -0,0 +1,74 @@
+package com.example.teama.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 메모리 refresh token 저장소 (단일 노드용, refresh-token.store=memory)
+ * 항목마다 토큰의 만료 시각에 맞춰 캐시에서 빠지므로 따로 정리할 것이 없다.
+ * 개수 상한을 넘으면 오래 쓰이지 않은 토큰부터 밀려나고, 그 사용자는 다시 로그인해야 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private record Entry(Long userId, LocalDateTime expiresAt) {
+    }
+
+    private final Cache<String, Entry> cache;
+
+    public InMemoryRefreshTokenStore(@Value("${refresh-token.memory.maximum-size:100000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return Math.max(0, Duration.between(LocalDateTime.now(), entry.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void save(Long userId, String tokenHash, LocalDateTime expiresAt) {
+        cache.put(tokenHash, new Entry(userId, expiresAt));
+    }
+
+    @Override
+    public Optional<Long> findUserId(String tokenHash, LocalDateTime now) {
+        Entry entry = cache.getIfPresent(tokenHash);
+        if (entry == null || !entry.expiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.userId());
+    }
+
+    @Override
+    public void delete(String tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+
+    @Override
+    public int purgeExpired(LocalDateTime now, int limit) {
+        cache.cleanUp();
+        return 0;
+    }
+}
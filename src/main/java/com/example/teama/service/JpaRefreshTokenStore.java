@@ -0,0 +1,52 @@
+package com.example.teama.service;
+
+import com.example.teama.entity.RefreshToken;
+import com.example.teama.persistence.RefreshTokenRepository;
+import com.example.teama.persistence.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * TBL_REFRESH_TOKEN 에 저장하는 refresh token 저장소 (기본값)
+ * 조회/삭제는 token_hash 유니크 인덱스, 정리는 expires_at 인덱스를 탄다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public void save(Long userId, String tokenHash, LocalDateTime expiresAt) {
+        refreshTokenRepository.saveAndFlush(RefreshToken.builder()
+                .user(userRepository.getReferenceById(userId))
+                .tokenHash(tokenHash)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findUserId(String tokenHash, LocalDateTime now) {
+        return refreshTokenRepository.findUserIdByTokenHash(tokenHash, now);
+    }
+
+    @Override
+    @Transactional
+    public void delete(String tokenHash) {
+        refreshTokenRepository.deleteByTokenHash(tokenHash);
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired(LocalDateTime now, int limit) {
+        return refreshTokenRepository.deleteExpired(now, limit);
+    }
+}
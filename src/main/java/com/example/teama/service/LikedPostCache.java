@@ -0,0 +1,51 @@
+package com.example.teama.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 사용자별 "좋아요 누른 게시글" bitmap 캐시
+ * 최근에 목록을 본 사용자만 메모리에 남긴다(W-TinyLFU, 접근 후 만료). 좋아요 추가/취소는 HeartService 가
+ * 캐시에 있는 bitmap 에 바로 반영하고, 없으면 다음 조회 때 DB 에서 다시 만든다.
+ * hit/miss/eviction 통계는 micrometer 의 cache.* 메트릭(cache=heart.liked)으로 노출된다.
+ */
+@Component
+public class LikedPostCache {
+    private static final String CACHE_NAME = "heart.liked";
+
+    private final Cache<Long, PostIdBitmap> cache;
+
+    public LikedPostCache(@Value("${heart.status.cache.maximum-size:10000}") long maximumSize,
+                          @Value("${heart.status.cache.expire-after-access:30m}") Duration expireAfterAccess,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    PostIdBitmap get(Long userId, Function<Long, PostIdBitmap> loader) {
+        return cache.get(userId, loader);
+    }
+
+    // 캐시에 있을 때만 반영한다. 같은 사용자를 로딩 중이면 로딩이 끝난 뒤에 반영된다 (같은 키의 compute 는 순서대로 실행)
+    void update(Long userId, Long postId, boolean liked) {
+        cache.asMap().computeIfPresent(userId, (id, bitmap) -> {
+            if (liked) {
+                bitmap.add(postId);
+            } else {
+                bitmap.remove(postId);
+            }
+            return bitmap;
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.teama.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt 해시/비교 전용 스레드 풀
+ * BCrypt 는 한 번에 100ms 가까운 CPU 를 쓰므로 Tomcat 요청 스레드에서 돌리면 로그인이 몰릴 때 worker 가 모두 묶여
+ * 게시글 조회처럼 가벼운 요청까지 밀린다. 크기가 정해진 풀과 대기열에서만 실행하고, 대기열까지 차면 기다리지 않고
+ * RejectedExecutionException 을 던진다. (컨트롤러가 503 + Retry-After 로 응답한다)
+ * 메트릭: password.hash (operation=matches/encode, result 별 실행 시간, count 가 곧 처리량), password.hash.wait (대기열에서 기다린 시간),
+ * password.hash.rejected (거절 수), executor.* (name=password.hash, 대기열 길이/실행 중 작업 수)
+ */
+@Component
+public class PasswordHasher {
+    private static final String NAME = "password.hash";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer matched;
+    private final Timer mismatched;
+    private final Timer encoded;
+    private final Timer wait;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                          @Value("${password.hash.pool-size:0}") int poolSize,
+                          @Value("${password.hash.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        // 0 이면 코어의 절반만 쓴다. 나머지 코어는 다른 요청 처리에 남겨 둔다.
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, NAME, Tags.empty()).bindTo(meterRegistry);
+
+        this.matched = timer(meterRegistry, "matches", "matched");
+        this.mismatched = timer(meterRegistry, "matches", "mismatched");
+        this.encoded = timer(meterRegistry, "encode", "ok");
+        this.wait = Timer.builder(NAME + ".wait")
+                .description("BCrypt 작업이 대기열에서 기다린 시간")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(NAME + ".rejected")
+                .description("풀과 대기열이 가득 차 거절한 BCrypt 작업 수")
+                .register(meterRegistry);
+    }
+
+    // 풀과 대기열이 가득 차 있으면 RejectedExecutionException
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            long startedAt = System.nanoTime();
+            boolean result = passwordEncoder.matches(rawPassword, encodedPassword);
+            (result ? matched : mismatched).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            return result;
+        });
+    }
+
+    // 풀과 대기열이 가득 차 있으면 RejectedExecutionException
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encoded.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    // 저장된 해시의 cost 가 설정(password.bcrypt.strength)보다 낮으면 true. 로그인 성공 시 다시 해시해서 저장한다.
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                wait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String result) {
+        return Timer.builder(NAME)
+                .description("BCrypt 해시/비교 실행 시간")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.post.PostResponseDto;
+import com.example.teama.service.event.PostChangedEvent;
+import com.example.teama.service.event.PostCountersFlushedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글 상세 조회 캐시 (read-through)
+ * 영속성 컨텍스트와 무관한 불변 DTO 만 보관하므로 캐시된 객체가 Hibernate 세션을 붙잡지 않는다.
+ * hit/miss/eviction 통계는 micrometer 의 cache.* 메트릭(cache=post.detail)으로 노출된다.
+ */
+@Component
+public class PostCache {
+    private static final String CACHE_NAME = "post.detail";
+
+    private final Cache<Long, PostResponseDto> cache;
+
+    public PostCache(@Value("${post.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${post.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                     MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public PostResponseDto get(Long id, Function<Long, PostResponseDto> loader) {
+        return cache.get(id, loader);
+    }
+
+    // 캐시에 없는 id 만 모아 loader 를 한 번 호출한다. loader 결과에 없는 id(없는 글)는 돌려주는 맵에서 빠진다.
+    public Map<Long, PostResponseDto> getAll(Collection<Long> ids, Function<Set<? extends Long>, Map<Long, PostResponseDto>> loader) {
+        return cache.getAll(ids, loader);
+    }
+
+    // 캐시에 있을 때만 돌려주고 없으면 null (DB 를 읽지 않는다)
+    public PostResponseDto getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    // 캐시에 올라와 있는 id 만 (통계에 hit/miss 로 세지 않는다)
+    public List<Long> cachedIds(Collection<Long> ids) {
+        return ids.stream().filter(cache.asMap()::containsKey).collect(Collectors.toList());
+    }
+
+    // 캐시에 있는 항목의 조회수/순 방문자 수만 DB 값으로 바꾼다. (본문까지 다시 읽지 않도록 무효화하지 않는다)
+    public void updateViews(Long id, long viewCount, long uniqueViewers) {
+        cache.asMap().computeIfPresent(id, (key, post) -> post.withViews(viewCount, uniqueViewers));
+    }
+
+    // 좋아요 수 등 카운터 컬럼이 갱신되면 이전 값을 들고 있는 항목을 버린다.
+    // 조회수는 몇 초마다 반영되므로 버리지 않고 PostViewCounter 가 updateViews 로 값만 고친다.
+    @EventListener
+    public void onCountersFlushed(PostCountersFlushedEvent event) {
+        if (event.getCounter() == PostCountersFlushedEvent.Counter.VIEW) {
+            return;
+        }
+        cache.invalidateAll(event.getPostIds());
+    }
+
+    // 게시글이 수정/삭제되면 커밋 이후에 무효화한다.
+    // 커밋 전에 지우면 다른 스레드가 아직 커밋되지 않은 이전 값을 다시 캐시에 올릴 수 있다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() != PostChangedEvent.Type.SAVED) {
+            evict(event.getPostId());
+        }
+    }
+}
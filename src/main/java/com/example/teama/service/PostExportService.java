@@ -0,0 +1,64 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.post.PostResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 게시글 전체 NDJSON 내보내기
+ * 엔티티가 아닌 DTO projection 을 forward-only 커서로 흘려 읽으므로 영속성 컨텍스트에 아무것도 쌓이지 않고,
+ * 한 행씩 바로 응답 스트림에 쓰기 때문에 게시글 수와 상관없이 힙 사용량이 fetch size 만큼으로 일정하다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostExportService {
+    private static final String EXPORT_QUERY = "select new com.example.teama.dto.post.PostResponseDto(" +
+            "p.id, p.postTitle, p.postContent, u.id, u.userNickname, p.heartCount, p.replyCount, p.viewCount, p.uniqueViewers, p.postRegisterDates, p.postUpdateDates) " +
+            "from Post p join p.user u " +
+            "order by p.id";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${post.export.fetch-size:1000}")
+    private int fetchSize;
+
+    // 한 줄에 게시글 하나(JSON), id 오름차순. gzip 이면 출력 전체를 gzip 으로 감싼다.
+    @Transactional(readOnly = true)
+    public long export(OutputStream outputStream, boolean gzip) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        long count = 0;
+
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream;
+        ObjectWriter writer = objectMapper.writerFor(PostResponseDto.class);
+        try (OutputStream out = new BufferedOutputStream(target, BUFFER_SIZE);
+             Stream<PostResponseDto> posts = entityManager.createQuery(EXPORT_QUERY, PostResponseDto.class)
+                     .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                     .setHint(HibernateHints.HINT_READ_ONLY, true)
+                     .getResultStream()) {
+            for (PostResponseDto post : (Iterable<PostResponseDto>) posts::iterator) {
+                out.write(writer.writeValueAsBytes(post));
+                out.write('\n');
+                count++;
+            }
+        }
+
+        log.info("게시글 내보내기 완료: {}건, {}ms", count, System.currentTimeMillis() - startedAt);
+        return count;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.teama.service;
+
+import java.util.Arrays;
+
+/**
+ * 게시글 id 집합 (Roaring bitmap 방식의 압축 bitmap)
+ * id 의 상위 비트(id >>> 16)로 container 를 나누고, container 안에서는 하위 16비트만 저장한다.
+ * 값이 적은 container 는 정렬된 char 배열(2byte/개), 4096개를 넘으면 65536비트 bitmap(8KB 고정)으로 바꾼다.
+ * 게시글 id 는 시퀀스라 한 사용자의 좋아요도 몇 개의 container 에 모이므로 HashSet<Long> 보다 훨씬 작다.
+ * 요청 스레드(조회)와 좋아요 반영이 같은 사용자 bitmap 을 함께 쓰므로 메서드 단위로 동기화한다.
+ */
+final class PostIdBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;   // 65536 비트
+
+    private long[] keys = new long[0];
+    private Object[] containers = new Object[0];       // char[] (array) 또는 long[] (bitmap)
+    private int[] cardinalities = new int[0];
+    private int size;
+
+    synchronized void add(long id) {
+        long key = id >>> 16;
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key);
+        }
+
+        Object container = containers[index];
+        if (container instanceof long[] bitmap) {
+            long word = bitmap[low >>> 6];
+            long bit = 1L << low;
+            if ((word & bit) == 0) {
+                bitmap[low >>> 6] = word | bit;
+                cardinalities[index]++;
+            }
+            return;
+        }
+
+        char[] values = (char[]) container;
+        int cardinality = cardinalities[index];
+        int position = Arrays.binarySearch(values, 0, cardinality, low);
+        if (position >= 0) {
+            return;
+        }
+        if (cardinality == ARRAY_MAX) {
+            long[] bitmap = toBitmap(values, cardinality);
+            bitmap[low >>> 6] |= 1L << low;
+            containers[index] = bitmap;
+            cardinalities[index]++;
+            return;
+        }
+
+        position = -position - 1;
+        if (cardinality == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+            containers[index] = values;
+        }
+        System.arraycopy(values, position, values, position + 1, cardinality - position);
+        values[position] = low;
+        cardinalities[index]++;
+    }
+
+    synchronized void remove(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (index < 0) {
+            return;
+        }
+        char low = (char) id;
+
+        Object container = containers[index];
+        if (container instanceof long[] bitmap) {
+            long word = bitmap[low >>> 6];
+            long bit = 1L << low;
+            if ((word & bit) == 0) {
+                return;
+            }
+            bitmap[low >>> 6] = word & ~bit;
+            if (--cardinalities[index] == ARRAY_MAX) {
+                containers[index] = toArray(bitmap, ARRAY_MAX);
+            }
+            return;
+        }
+
+        char[] values = (char[]) container;
+        int cardinality = cardinalities[index];
+        int position = Arrays.binarySearch(values, 0, cardinality, low);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+        if (--cardinalities[index] == 0) {
+            removeContainer(index);
+        }
+    }
+
+    synchronized boolean contains(long id) {
+        int index = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) id;
+        Object container = containers[index];
+        if (container instanceof long[] bitmap) {
+            return (bitmap[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, cardinalities[index], low) >= 0;
+    }
+
+    synchronized long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    private void insertContainer(int index, long key) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = new char[4];
+        cardinalities[index] = 0;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        System.arraycopy(cardinalities, index + 1, cardinalities, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private static long[] toBitmap(char[] values, int cardinality) {
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = 0; i < cardinality; i++) {
+            bitmap[values[i] >>> 6] |= 1L << values[i];
+        }
+        return bitmap;
+    }
+
+    private static char[] toArray(long[] bitmap, int cardinality) {
+        char[] values = new char[cardinality];
+        int position = 0;
+        for (int word = 0; word < bitmap.length; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                values[position++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.post.PostSliceResponseDto;
+import com.example.teama.service.event.PostChangedEvent;
+import com.example.teama.service.event.PostCountersFlushedEvent;
+import com.example.teama.service.event.PostsSavedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 게시글 목록 앞쪽 페이지의 직렬화 결과 캐시
+ * 기본 크기로 조회한 첫 페이지부터 pages 개 페이지까지 JSON(UTF-8) byte[] 와 gzip byte[] 를 만들어 두고,
+ * 컨트롤러는 Jackson 을 거치지 않고 그대로 응답에 쓴다.
+ * 게시글 저장/수정/삭제가 커밋되거나 좋아요/댓글 수가 DB 에 반영되면 전부 버린다.
+ * (좋아요 증감분은 heart.count.flush-interval 동안은 캐시된 값으로 보일 수 있다.)
+ * 절약한 직렬화 횟수는 post.list.cache.serializations.saved, 점유 메모리는 post.list.cache.bytes 메트릭으로 노출된다.
+ */
+@Component
+public class PostListResponseCache {
+    private static final String FIRST_PAGE = "";
+
+    private final ObjectMapper objectMapper;
+    private final int pages;
+    private final int defaultPageSize;
+    private final boolean gzip;
+
+    // key = after 커서 (첫 페이지는 ""), 앞 페이지를 캐시할 때 그 nextCursor 를 다음 페이지 번호와 함께 chain 에 등록한다.
+    // 값은 만드는 중인 페이지도 담기 위해 future 로 둔다. (DB 조회와 직렬화를 맵의 락 안에서 하지 않는다)
+    private final Map<String, CompletableFuture<CachedPage>> cache = new ConcurrentHashMap<>();
+    private final Map<String, Integer> chain = new ConcurrentHashMap<>();
+
+    private final Counter saved;
+    private final Counter serialized;
+
+    public PostListResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                 @Value("${post.list-cache.pages:5}") int pages,
+                                 @Value("${post.list-cache.gzip:true}") boolean gzip,
+                                 @Value("${post.page.default-size:20}") int defaultPageSize) {
+        this.objectMapper = objectMapper;
+        this.pages = pages;
+        this.gzip = gzip;
+        this.defaultPageSize = defaultPageSize;
+
+        this.saved = Counter.builder("post.list.cache.serializations.saved")
+                .description("캐시된 byte[] 로 응답해 생략한 JSON 직렬화 횟수")
+                .register(meterRegistry);
+        this.serialized = Counter.builder("post.list.cache.serializations")
+                .description("캐시에 넣기 위해 실행한 JSON 직렬화 횟수")
+                .register(meterRegistry);
+        Gauge.builder("post.list.cache.bytes", this, PostListResponseCache::footprint)
+                .description("캐시된 JSON/gzip byte[] 크기 합")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("post.list.cache.pages", cache, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Getter
+    public static class CachedPage {
+        private final int index;
+        private final String nextCursor;
+        private final byte[] json;
+        private final byte[] gzipped;   // gzip 을 끈 경우 null
+
+        private CachedPage(int index, String nextCursor, byte[] json, byte[] gzipped) {
+            this.index = index;
+            this.nextCursor = nextCursor;
+            this.json = json;
+            this.gzipped = gzipped;
+        }
+    }
+
+    /**
+     * 캐시 대상 페이지면 캐시된(없으면 loader 로 만든) 페이지를, 대상이 아니면 null 을 돌려준다.
+     * 같은 페이지를 동시에 처음 요청해도 loader 와 직렬화는 먼저 온 요청 스레드에서 한 번만 실행되고, 나머지는 그 결과를 기다린다.
+     * 실패하면 캐시에 남기지 않으므로 다음 요청이 다시 만들고, 기다리던 요청은 null(캐시 없이 조회)을 받는다.
+     */
+    public CachedPage get(String after, Integer size, Supplier<PostSliceResponseDto> loader) {
+        if (pages < 1 || (size != null && size != defaultPageSize)) {
+            return null;
+        }
+
+        String key = after == null ? FIRST_PAGE : after;
+        CompletableFuture<CachedPage> page = cache.get(key);
+        if (page == null) {
+            Integer index = key.equals(FIRST_PAGE) ? Integer.valueOf(0) : chain.get(key);
+            if (index == null) {
+                return null;   // pages 번째 이후 페이지이거나 앞 페이지가 캐시되지 않은 커서
+            }
+
+            CompletableFuture<CachedPage> created = new CompletableFuture<>();
+            page = cache.putIfAbsent(key, created);
+            if (page == null) {
+                try {
+                    created.complete(load(index, loader.get()));
+                } catch (RuntimeException e) {
+                    cache.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                return created.join();
+            }
+        }
+
+        try {
+            CachedPage cached = page.join();
+            saved.increment();
+            return cached;
+        } catch (CompletionException e) {
+            return null;   // 먼저 온 요청이 만들다 실패했다. 캐시 없이 조회한다.
+        }
+    }
+
+    public void invalidate() {
+        chain.clear();
+        cache.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsSaved(PostsSavedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onCountersFlushed(PostCountersFlushedEvent event) {
+        if (event.affectsList()) {
+            invalidate();
+        }
+    }
+
+    private CachedPage load(int index, PostSliceResponseDto slice) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(slice);
+            serialized.increment();
+            if (slice.getNextCursor() != null && index + 1 < pages) {
+                chain.put(slice.getNextCursor(), index + 1);
+            }
+            return new CachedPage(index, slice.getNextCursor(), json, gzip ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("게시글 목록 직렬화에 실패했습니다.", e);
+        }
+    }
+
+    private long footprint() {
+        long bytes = 0;
+        for (CompletableFuture<CachedPage> future : cache.values()) {
+            CachedPage page = future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+            if (page != null) {
+                bytes += page.json.length + (page.gzipped == null ? 0 : page.gzipped.length);
+            }
+        }
+        return bytes;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
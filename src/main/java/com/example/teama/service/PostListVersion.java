@@ -0,0 +1,63 @@
+package com.example.teama.service;
+
+import com.example.teama.service.event.PostChangedEvent;
+import com.example.teama.service.event.PostCountersFlushedEvent;
+import com.example.teama.service.event.PostsSavedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게시글 목록의 버전 (목록 조건부 GET 검증용)
+ * 게시글 저장/수정/삭제, 좋아요 수 반영, 아직 반영되지 않은 좋아요 증감이 있을 때마다 바뀌므로
+ * DB 를 읽지 않고도 "그 사이 목록이 바뀌었을 수 있는가" 를 답할 수 있다.
+ * 값은 메모리에만 있으므로 인스턴스마다 임의의 epoch 를 붙여, 재기동 후나 다른 인스턴스에서 같은 ETag 가 나오지 않게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostListVersion {
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+
+    private final HeartCountBuffer heartCountBuffer;
+    private final HeartWriteBehindBuffer heartWriteBehindBuffer;
+
+    // 같은 버전이라도 after/size 가 다르면 다른 응답이므로 ETag 에 함께 넣는다.
+    // 좋아요 버퍼는 설정에 따라 한쪽만 쓰이고, 둘 다 늘어나기만 하므로 합이 같으면 그 사이 좋아요 변화가 없다.
+    public String eTag(String after, Integer size) {
+        return "\"l" + epoch + "-" + changes.get() + "-" + (heartCountBuffer.modifications() + heartWriteBehindBuffer.modifications())
+                + "-" + (after == null ? "" : after) + "-" + (size == null ? "" : size) + "\"";
+    }
+
+    // 좋아요 증감은 heart_count 에 flush 될 때 Last-Modified 에 반영된다. 그 전까지는 ETag 로만 구분된다.
+    public long lastModified() {
+        return lastModified;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        changed();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsSaved(PostsSavedEvent event) {
+        changed();
+    }
+
+    @EventListener
+    public void onCountersFlushed(PostCountersFlushedEvent event) {
+        if (event.affectsList()) {
+            changed();
+        }
+    }
+
+    private void changed() {
+        lastModified = System.currentTimeMillis();
+        changes.incrementAndGet();
+    }
+}
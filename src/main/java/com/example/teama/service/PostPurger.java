@@ -0,0 +1,124 @@
+package com.example.teama.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 삭제 표시된 게시글 정리
+ * 게시글 삭제 요청은 deleted 표시만 하고 바로 돌아간다. 좋아요/댓글이 많은 글을 한 트랜잭션에서 지우면
+ * 긴 락과 큰 undo 로 다른 요청이 밀리기 때문에, 이 스케줄러가 좋아요 → 댓글 → 조회 sketch → 게시글 순으로
+ * 인덱스(post_id)를 타는 작은 DELETE 로 나눠 지운다. 한 묶음마다 바로 커밋하고 잠깐 쉬어서 앞단 요청에 자리를 내준다.
+ * 쉬는 시간 때문에 한 번 도는 데 수 초 이상 걸리므로 @Scheduled 공용 스케줄러가 아닌 전용 스레드(post-purger)에서 돈다.
+ * 공용 스케줄러에서 돌면 좋아요 로그 flush 등 짧은 주기의 반영 작업이 그동안 멈춘다.
+ */
+@Slf4j
+@Component
+public class PostPurger {
+    private static final String SELECT_DELETED_SQL =
+            "SELECT id FROM (SELECT id FROM TBL_POST WHERE deleted = 1 ORDER BY id) WHERE ROWNUM <= ?";
+    private static final String DELETE_HEARTS_SQL =
+            "DELETE FROM TBL_HEART WHERE post_id = ? AND ROWNUM <= ?";
+    // path 내림차순으로 자른다. 답글의 path 는 부모 path 로 시작하는 더 긴 값이라 항상 부모보다 앞에 오므로,
+    // 묶음에 든 댓글의 답글은 같은 묶음이나 앞 묶음에서 이미 지워진다 (parent FK).
+    // IX_REPLY_POST_PATH(post_id, path)를 거꾸로 읽다 묶음 크기에서 멈추므로 스레드 전체를 정렬하지 않는다.
+    private static final String DELETE_REPLIES_SQL =
+            "DELETE FROM TBL_REPLY WHERE id IN (" +
+            "SELECT id FROM (SELECT id FROM TBL_REPLY WHERE post_id = ? ORDER BY path DESC) WHERE ROWNUM <= ?)";
+    private static final String DELETE_SKETCH_SQL = "DELETE FROM TBL_POST_VIEW_SKETCH WHERE post_id = ?";
+    private static final String DELETE_POST_SQL = "DELETE FROM TBL_POST WHERE id = ? AND deleted = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final long intervalMillis;
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("post-purger-"));
+
+    public PostPurger(JdbcTemplate jdbcTemplate,
+                      @Value("${post.purge.batch-size:100}") int batchSize,
+                      @Value("${post.purge.chunk-size:1000}") int chunkSize,
+                      @Value("${post.purge.pause:50}") long pauseMillis,
+                      @Value("${post.purge.interval:60000}") long intervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                purge();
+            } catch (RuntimeException e) {
+                log.error("게시글 정리 실패", e);   // 예외가 나가면 이후 실행이 모두 취소되므로 여기서 끊는다
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 쉬는 중이면 interrupt 로 깨워서 바로 끝낸다
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public synchronized void purge() {
+        List<Long> postIds = jdbcTemplate.queryForList(SELECT_DELETED_SQL, Long.class, batchSize);
+        int purged = 0;
+        for (Long postId : postIds) {
+            try {
+                if (purge(postId)) {
+                    purged++;
+                }
+            } catch (DataAccessException e) {
+                // 정리 도중 새 댓글이 붙는 등으로 FK 에 걸리면 다음 주기에 남은 것부터 다시 지운다
+                log.warn("게시글 정리 실패, 다음 주기에 다시 시도합니다. id = {}", postId, e);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+        if (purged > 0) {
+            log.info("삭제 표시된 게시글 {}건 정리", purged);
+        }
+    }
+
+    private boolean purge(Long postId) {
+        deleteInChunks(DELETE_HEARTS_SQL, postId);
+        deleteInChunks(DELETE_REPLIES_SQL, postId);
+        jdbcTemplate.update(DELETE_SKETCH_SQL, postId);
+        return jdbcTemplate.update(DELETE_POST_SQL, postId) > 0;
+    }
+
+    // 트랜잭션 없이 실행하므로 문장마다 커밋된다
+    private void deleteInChunks(String sql, Long postId) {
+        while (jdbcTemplate.update(sql, postId, chunkSize) == chunkSize) {
+            pause();
+        }
+        pause();
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
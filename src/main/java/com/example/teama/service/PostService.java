@@ -1,18 +1,43 @@
 package com.example.teama.service;
 
+import com.example.teama.dto.post.PostBatchItemDto;
+import com.example.teama.dto.post.PostCursor;
 import com.example.teama.dto.post.PostResponseDto;
 import com.example.teama.dto.post.PostSaveRequestDto;
+import com.example.teama.dto.post.PostSliceResponseDto;
+import com.example.teama.dto.post.PostSuggestionDto;
+import com.example.teama.dto.post.PostSummaryDto;
 import com.example.teama.dto.post.PostUpdateRequestDto;
+import com.example.teama.dto.post.PostVersionDto;
 import com.example.teama.entity.Post;
+import com.example.teama.entity.User;
 import com.example.teama.persistence.PostRepository;
+import com.example.teama.persistence.UserRepository;
+import com.example.teama.search.PostSearchIndex;
+import com.example.teama.search.TitleSuggestIndex;
+import com.example.teama.search.TrendingPostIndex;
+import com.example.teama.service.event.PostChangedEvent;
+import com.example.teama.service.event.PostsSavedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,11 +46,73 @@ import java.util.stream.Collectors;
 public class PostService {
 
     private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final PostCache postCache;
+    private final HeartCountBuffer heartCountBuffer;
+    private final HeartWriteBehindBuffer heartWriteBehindBuffer;
+    private final PostViewCounter postViewCounter;
+    private final PostSearchIndex postSearchIndex;
+    private final TitleSuggestIndex titleSuggestIndex;
+    private final TrendingPostIndex trendingPostIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${post.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${post.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${post.list.max-limit:1000}")
+    private int maxListLimit;
+
+    @Value("${post.batch-get.max-size:100}")
+    private int maxBatchSize;
+
+    @Value("${post.bulk.max-size:100000}")
+    private int maxBulkSize;
+
+    @Value("${post.bulk.chunk-size:100}")
+    private int bulkChunkSize;
 
     // Save Post
     @Transactional
     public Long save(PostSaveRequestDto requestDto) {
-        return postRepository.save(requestDto.toEntity()).getId();
+        Post post = postRepository.save(requestDto.toEntity());
+        eventPublisher.publishEvent(PostChangedEvent.saved(post.getId(), post.getPostTitle(), post.getPostContent()));
+        return post.getId();
+    }
+
+    // Bulk Save Post
+    // 한 트랜잭션에서 chunk-size 마다 flush/clear 한다. id 는 pooled-lo 시퀀스에서 메모리로 나눠 받고,
+    // insert 는 hibernate.jdbc.batch_size 단위 JDBC 배치로 나가므로 행마다 DB 를 왕복하지 않는다.
+    @Transactional
+    public List<Long> saveAll(List<PostSaveRequestDto> requestDtos) {
+        if (requestDtos == null || requestDtos.isEmpty() || requestDtos.size() > maxBulkSize) {
+            throw new IllegalArgumentException("한 번에 등록할 수 있는 게시글은 1건 이상 " + maxBulkSize + "건 이하입니다.");
+        }
+
+        List<Long> ids = new ArrayList<>(requestDtos.size());
+        Map<Long, User> users = new HashMap<>();   // clear 전까지 같은 작성자는 같은 참조를 쓴다
+        for (PostSaveRequestDto requestDto : requestDtos) {
+            if (requestDto.getUser() == null || requestDto.getUser().getId() == null) {
+                throw new IllegalArgumentException("작성자 id 가 없는 게시글이 있습니다. index = " + ids.size());
+            }
+
+            User user = users.computeIfAbsent(requestDto.getUser().getId(), userRepository::getReferenceById);
+            Post post = requestDto.toEntity(user);
+            entityManager.persist(post);
+            ids.add(post.getId());
+
+            if (ids.size() % bulkChunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                users.clear();
+            }
+        }
+        // 본문을 커밋까지 붙잡고 있지 않도록 id 만 담아 한 번 발행한다.
+        eventPublisher.publishEvent(new PostsSavedEvent(ids));
+        return ids;
     }
 
     // Update Post
@@ -38,34 +125,148 @@ public class PostService {
 
         Post post = optionalPost.get();
         post.update(requestDto.getPostTitle(), requestDto.getPostContent());
+        eventPublisher.publishEvent(PostChangedEvent.updated(id, post.getPostTitle(), post.getPostContent()));
         return id;
     }
 
     // Post Read
-    @Transactional(readOnly = true)
+    // 캐시 hit 시에는 트랜잭션(커넥션)도 열지 않도록 @Transactional 을 붙이지 않는다. 조회 쿼리는 repository 의 readOnly 트랜잭션에서 실행된다.
     public PostResponseDto findById(Long id) {
-        Optional<Post> optionalPost = postRepository.findById(id);
-        if (optionalPost.isEmpty()) {
-            throw new IllegalArgumentException("해당 게시글이 없습니다. id = " + id);
+        PostResponseDto post = postCache.get(id, key -> postRepository.findDetailById(key)
+                .orElseThrow(() -> new IllegalArgumentException("해당 게시글이 없습니다. id = " + key)));
+        return post.withPendingHearts(pendingHearts(id))
+                .withPendingViews(postViewCounter.pending(id));
+    }
+
+    // Multi Post Read
+    // 요청한 id 순서대로 돌려주고, 없거나 삭제된 글은 found = false 로 표시한다.
+    // 상세 캐시에 있는 글은 캐시에서, 나머지만 IN 조회 한 번으로 읽어 캐시에 올린다. (findById 와 같이 @Transactional 을 붙이지 않는다)
+    public List<PostBatchItemDto> findByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > maxBatchSize) {
+            throw new IllegalArgumentException("ids 는 1개 이상 " + maxBatchSize + "개 이하여야 합니다.");
         }
 
-        return new PostResponseDto(optionalPost.get());
+        Map<Long, PostResponseDto> found = postCache.getAll(new LinkedHashSet<>(ids), misses ->
+                postRepository.findDetailsByIdIn(new ArrayList<>(misses)).stream()
+                        .collect(Collectors.toMap(PostResponseDto::getId, Function.identity())));
+        return ids.stream()
+                .map(id -> {
+                    PostResponseDto post = found.get(id);
+                    return new PostBatchItemDto(id, post == null ? null : post
+                            .withPendingHearts(pendingHearts(id))
+                            .withPendingViews(postViewCounter.pending(id)));
+                })
+                .collect(Collectors.toList());
+    }
+
+    // Post View
+    // 메모리 카운터와 sketch 에만 기록하고 돌아간다. DB 반영은 PostViewCounter 가 주기적으로 모아서 한다.
+    public void recordView(Long id, String viewer) {
+        postViewCounter.record(id, viewer);
+    }
+
+    // Post Version
+    // 조건부 GET 검증용. 상세 캐시에 있으면 캐시에서, 없으면 본문을 제외한 버전 projection 으로 읽는다.
+    public Optional<PostVersionDto> findVersion(Long id) {
+        PostResponseDto cached = postCache.getIfPresent(id);
+        Optional<PostVersionDto> version = cached != null
+                ? Optional.of(PostVersionDto.of(cached))
+                : postRepository.findVersionById(id);
+        return version.map(v -> v.withPendingHearts(pendingHearts(id)));
+    }
+
+    // List Post Read (Keyset Pagination)
+    // after 커서가 가리키는 id 보다 작은 게시글을 size 개만 읽는다. OFFSET 을 쓰지 않으므로 몇 번째 페이지든 비용이 같다.
+    @Transactional(readOnly = true)
+    public PostSliceResponseDto findPage(String after, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);  // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+
+        List<PostSummaryDto> posts = (after == null || after.isBlank())
+                ? postRepository.findSummaries(limit)
+                : postRepository.findSummariesBefore(PostCursor.decode(after), limit);
+
+        boolean hasNext = posts.size() > pageSize;
+        List<PostSummaryDto> content = withPendingHearts(hasNext ? posts.subList(0, pageSize) : posts);
+
+        String nextCursor = hasNext ? PostCursor.encode(content.get(content.size() - 1).getId()) : null;
+        return new PostSliceResponseDto(content, nextCursor);
     }
 
     // List Post Read
     @Transactional(readOnly = true) // readOnly = true를 주면 트랜잭션 범위는 유지하되, 조회 기능만 남겨두어 조회 속도가 개선.
-    public List<PostResponseDto> findAllDesc() {
-        return postRepository.findAllByOrderByIdDesc().stream()
-                .map(PostResponseDto::new)
-                .collect(Collectors.toList());
+    public List<PostSummaryDto> findAllDesc(int limit) {
+        if (limit < 1 || limit > maxListLimit) {
+            throw new IllegalArgumentException("limit 은 1 이상 " + maxListLimit + " 이하여야 합니다. limit = " + limit);
+        }
+
+        return withPendingHearts(postRepository.findSummaries(PageRequest.of(0, limit)));
+    }
+
+
+    // Post Search
+    // 메모리 역색인에서 BM25 순위대로 id 를 찾고, 목록 projection 한 번으로 내용을 채운다.
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> search(String query, Integer size) {
+        return findSummariesInOrder(postSearchIndex.search(query, resolvePageSize(size)));
+    }
+
+    // Trending Post
+    // 시간 감쇠 점수(좋아요, 댓글, 조회) 순. 순위는 메모리에서 바로 읽고, 내용은 목록 projection 한 번으로 채운다.
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> trending(Integer size) {
+        return findSummariesInOrder(trendingPostIndex.top(resolvePageSize(size)));
+    }
+
+
+    // Post Title Suggest
+    // 제목 접두사 자동완성, 최신 글 순. DB 를 거치지 않고 메모리 trie 에서 바로 돌려준다.
+    public List<PostSuggestionDto> suggest(String prefix, Integer size) {
+        return titleSuggestIndex.suggest(prefix, resolvePageSize(size));
     }
 
 
     // Post Delete
+    // 삭제 표시 UPDATE 한 문장으로 끝난다. 좋아요/댓글과 게시글 행은 PostPurger 가 나중에 나눠서 지운다.
+    @Transactional
     public void delete(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("해당 게시글이 없습니다. id = " + id));
+        if (postRepository.softDelete(id, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("해당 게시글이 없습니다. id = " + id);
+        }
+
+        eventPublisher.publishEvent(PostChangedEvent.deleted(id));
+    }
+
+    // id 순서를 유지한 목록 조회
+    private List<PostSummaryDto> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, PostSummaryDto> found = postRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+        return withPendingHearts(ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)  // 색인 반영 직전에 삭제된 글은 건너뛴다
+                .collect(Collectors.toList()));
+    }
+
+    // 목록의 좋아요 수 = DB 에 반영된 값 + 아직 flush 되지 않은 증감분
+    private List<PostSummaryDto> withPendingHearts(List<PostSummaryDto> posts) {
+        return posts.stream()
+                .map(post -> post.withPendingHearts(pendingHearts(post.getId())))
+                .collect(Collectors.toList());
+    }
 
-        postRepository.delete(post);
+    // 아직 heart_count 에 반영되지 않은 좋아요 증감분. 두 버퍼 중 설정(heart.write-behind.enabled)에 따라 한쪽만 쓰이고 다른 쪽은 0 이다.
+    private long pendingHearts(Long id) {
+        return heartCountBuffer.pending(id) + heartWriteBehindBuffer.pending(id);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
     }
 }
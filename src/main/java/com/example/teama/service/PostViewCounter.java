@@ -0,0 +1,236 @@
+package com.example.teama.service;
+
+import com.example.teama.service.event.PostActivityEvent;
+import com.example.teama.service.event.PostCountersFlushedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 조회수 / 순 방문자 수 집계
+ * 상세 조회마다 TBL_POST 의 같은 행을 UPDATE 하면 인기 게시글의 조회가 한 행 락에 줄을 선다.
+ * 요청 스레드는 게시글별 LongAdder 와 HyperLogLog 레지스터(CAS)에만 기록하고 바로 돌아간다.
+ * 스케줄러가 모인 조회수를 배치 UPDATE 로 view_count 에 더하고, 이번 주기의 sketch 를 저장된 sketch 와 합쳐
+ * TBL_POST_VIEW_SKETCH 에 다시 쓰면서 추정치를 unique_viewers 에 반영한다.
+ * 반영한 뒤 상세 캐시는 무효화하지 않고, 캐시에 있는 글만 두 카운터 컬럼을 다시 읽어 값을 바꾼다.
+ * 주기마다 떼어 낸 sketch(레지스터 1024개, 약 4KB)는 한 주기 더 남겨 두었다가 비워서 pool 에 넣고 다음 기록에 다시 쓴다.
+ */
+@Slf4j
+@Component
+public class PostViewCounter {
+    private static final String UPDATE_SQL =
+            "UPDATE TBL_POST SET view_count = view_count + ?, unique_viewers = GREATEST(unique_viewers, ?) WHERE id = ?";
+    private static final String SELECT_SKETCH_SQL =
+            "SELECT post_id, registers FROM TBL_POST_VIEW_SKETCH WHERE post_id IN (%s) FOR UPDATE";
+    private static final String MERGE_SKETCH_SQL =
+            "MERGE INTO TBL_POST_VIEW_SKETCH s USING (SELECT ? AS registers, p.id AS post_id FROM TBL_POST p WHERE p.id = ? AND p.deleted = 0) v " +
+            "ON (s.post_id = v.post_id) " +
+            "WHEN MATCHED THEN UPDATE SET s.registers = v.registers, s.updated_at = SYSTIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (post_id, registers, updated_at) VALUES (v.post_id, v.registers, SYSTIMESTAMP)";
+    private static final String SELECT_COUNTS_SQL = "SELECT id, view_count, unique_viewers FROM TBL_POST WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostCache postCache;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<Long, LongAdder> views = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, HyperLogLog> sketches = new ConcurrentHashMap<>();
+    private final BlockingQueue<HyperLogLog> sketchPool;
+
+    // flush 중인(아직 커밋되지 않은) 조회수. 반영되는 동안에도 조회 결과가 줄어들지 않도록 pending 에 포함한다.
+    private volatile Map<Long, Long> inFlight = Collections.emptyMap();
+
+    // 지난 flush 에서 맵에서 뺀 카운터/sketch. 빼기 직전에 참조를 얻어간 스레드의 기록을 다음 flush 에서 한 번 더 거둔다.
+    // (sketch 는 레지스터 max 라 같은 값을 두 번 합쳐도 결과가 같다)
+    private final List<Map.Entry<Long, LongAdder>> retiredViews = new ArrayList<>();
+    private final List<Map.Entry<Long, HyperLogLog>> retiredSketches = new ArrayList<>();
+
+    public PostViewCounter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher, PostCache postCache,
+                           @Value("${post.view.batch-size:500}") int batchSize,
+                           @Value("${post.view.sketch-pool-size:1024}") int sketchPoolSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.postCache = postCache;
+        this.batchSize = batchSize;
+        this.sketchPool = new ArrayBlockingQueue<>(Math.max(1, sketchPoolSize));
+    }
+
+    // viewer: 로그인 사용자면 사용자 id, 아니면 접속 정보로 만든 식별 문자열
+    public void record(Long postId, String viewer) {
+        views.computeIfAbsent(postId, id -> new LongAdder()).increment();
+        sketches.computeIfAbsent(postId, id -> newSketch()).offer(viewer);
+    }
+
+    // 아직 view_count 컬럼에 반영되지 않은 조회수
+    public long pending(Long postId) {
+        LongAdder adder = views.get(postId);
+        long pending = adder == null ? 0 : adder.sum();
+        return pending + inFlight.getOrDefault(postId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${post.view.flush-interval:5000}")
+    public synchronized void flush() {
+        // id 순으로 정렬해서 여러 인스턴스가 동시에 flush 하더라도 행 락을 같은 순서로 잡는다 (데드락 방지)
+        Map<Long, Long> drainedViews = new TreeMap<>();
+        Map<Long, HyperLogLog> drainedSketches = new TreeMap<>();
+        List<HyperLogLog> finishedSketches = new ArrayList<>();
+        collect(drainedViews, drainedSketches, finishedSketches);
+        if (drainedViews.isEmpty() && drainedSketches.isEmpty()) {
+            return;
+        }
+
+        inFlight = drainedViews;
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(drainedViews, drainedSketches));
+        } catch (RuntimeException e) {
+            log.error("조회수 반영 실패, 다음 주기에 다시 시도합니다. posts = {}", drainedViews.size(), e);
+            drainedViews.forEach((postId, count) -> views.computeIfAbsent(postId, id -> new LongAdder()).add(count));
+            // 떼어 낸 sketch 객체를 맵에 다시 넣지 않고 값만 합친다. (나중에 pool 로 돌아가도 맵에서 쓰이지 않도록)
+            drainedSketches.forEach((postId, sketch) -> sketches.computeIfAbsent(postId, id -> newSketch()).merge(sketch));
+            inFlight = Collections.emptyMap();
+            return;
+        }
+
+        Set<Long> postIds = new TreeSet<>(drainedViews.keySet());
+        postIds.addAll(drainedSketches.keySet());
+        refreshCached(postIds);
+        eventPublisher.publishEvent(new PostCountersFlushedEvent(PostCountersFlushedEvent.Counter.VIEW, postIds));
+        inFlight = Collections.emptyMap();
+        for (HyperLogLog sketch : finishedSketches) {
+            sketch.clear();
+            sketchPool.offer(sketch);   // pool 이 가득 차면 버린다
+        }
+        drainedViews.forEach((postId, count) -> eventPublisher.publishEvent(PostActivityEvent.view(postId, count)));
+    }
+
+    private HyperLogLog newSketch() {
+        HyperLogLog sketch = sketchPool.poll();
+        return sketch == null ? new HyperLogLog() : sketch;
+    }
+
+    // finishedSketches: 두 주기 전에 맵에서 뗀 sketch. 이번 flush 가 성공하면 더 이상 기록될 일이 없으므로 pool 로 돌린다.
+    private void collect(Map<Long, Long> drainedViews, Map<Long, HyperLogLog> drainedSketches, List<HyperLogLog> finishedSketches) {
+        for (Map.Entry<Long, LongAdder> entry : retiredViews) {
+            long count = entry.getValue().sumThenReset();
+            if (count != 0) {
+                drainedViews.merge(entry.getKey(), count, Long::sum);
+            }
+        }
+        retiredViews.clear();
+
+        for (Map.Entry<Long, LongAdder> entry : views.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count != 0) {
+                drainedViews.merge(entry.getKey(), count, Long::sum);
+            } else if (views.remove(entry.getKey(), entry.getValue())) {
+                // 한 주기 동안 조회가 없던 게시글은 맵에서 빼서 메모리가 계속 늘어나지 않게 한다.
+                retiredViews.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        // sketch 는 매 주기 통째로 떼어 내고 새로 만든다. (reset 하면 그 사이 기록이 사라질 수 있다)
+        // 떼어 낸 뒤에 레지스터가 바뀐 sketch 만 다음 주기에 한 번 더 합친다.
+        for (Map.Entry<Long, HyperLogLog> entry : retiredSketches) {
+            finishedSketches.add(entry.getValue());
+            if (!entry.getValue().takeModified()) {
+                continue;
+            }
+            drainedSketches.merge(entry.getKey(), entry.getValue(), (current, late) -> {
+                current.merge(late);
+                return current;
+            });
+        }
+        retiredSketches.clear();
+
+        for (Long postId : new ArrayList<>(sketches.keySet())) {
+            HyperLogLog sketch = sketches.remove(postId);
+            if (sketch != null) {
+                sketch.takeModified();
+                retiredSketches.add(Map.entry(postId, sketch));
+                drainedSketches.merge(postId, sketch, (current, removed) -> {
+                    current.merge(removed);
+                    return current;
+                });
+            }
+        }
+    }
+
+    private void write(Map<Long, Long> drainedViews, Map<Long, HyperLogLog> drainedSketches) {
+        // 저장된 sketch 를 행 락과 함께 읽어 합친다. (다른 인스턴스의 flush 와 겹쳐도 레지스터가 사라지지 않는다)
+        Map<Long, byte[]> merged = new TreeMap<>();
+        List<Long> ids = new ArrayList<>(drainedSketches.keySet());
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            Map<Long, byte[]> stored = new HashMap<>();
+            jdbcTemplate.query(String.format(SELECT_SKETCH_SQL, String.join(",", Collections.nCopies(chunk.size(), "?"))),
+                    resultSet -> {
+                        stored.put(resultSet.getLong("post_id"), resultSet.getBytes("registers"));
+                    }, chunk.toArray());
+            for (Long postId : chunk) {
+                merged.put(postId, drainedSketches.get(postId).mergeInto(stored.get(postId)));
+            }
+        }
+
+        jdbcTemplate.batchUpdate(MERGE_SKETCH_SQL, merged.entrySet(), batchSize, (ps, entry) -> {
+            ps.setBytes(1, entry.getValue());
+            ps.setLong(2, entry.getKey());   // 삭제 표시된 게시글의 sketch 는 쓰지 않는다
+        });
+
+        Set<Long> postIds = new TreeSet<>(drainedViews.keySet());
+        postIds.addAll(merged.keySet());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, postIds, batchSize, (ps, postId) -> {
+            byte[] registers = merged.get(postId);
+            ps.setLong(1, drainedViews.getOrDefault(postId, 0L));
+            ps.setLong(2, registers == null ? 0 : HyperLogLog.estimate(registers));
+            ps.setLong(3, postId);
+        });
+    }
+
+    // 상세 캐시에 올라와 있는 글만 반영된 조회수/순 방문자 수를 다시 읽어 캐시 항목에 덮어쓴다.
+    // 읽지 못하면 그 글들만 캐시에서 버린다. (다음 조회 때 DB 에서 다시 읽는다)
+    private void refreshCached(Set<Long> postIds) {
+        List<Long> cached = postCache.cachedIds(postIds);
+        for (int from = 0; from < cached.size(); from += batchSize) {
+            List<Long> chunk = cached.subList(from, Math.min(from + batchSize, cached.size()));
+            try {
+                jdbcTemplate.query(String.format(SELECT_COUNTS_SQL, String.join(",", Collections.nCopies(chunk.size(), "?"))),
+                        resultSet -> {
+                            postCache.updateViews(resultSet.getLong("id"), resultSet.getLong("view_count"),
+                                    resultSet.getLong("unique_viewers"));
+                        }, chunk.toArray());
+            } catch (RuntimeException e) {
+                log.warn("상세 캐시 조회수 갱신 실패, 해당 게시글을 캐시에서 뺍니다. posts = {}", chunk.size(), e);
+                chunk.forEach(postCache::evict);
+            }
+        }
+    }
+
+    // graceful shutdown 시 남은 조회수를 모두 반영한다.
+    @PreDestroy
+    public void drain() {
+        flush();
+        flush();    // retired 카운터에 남은 값까지 거둔다
+    }
+}
@@ -1,30 +1,63 @@
 package com.example.teama.service;
 
-import com.example.teama.entity.RefreshToken;
-import com.example.teama.persistence.RefreshTokenRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.teama.jwt.util.TokenHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.Optional;
 
+/**
+ * refresh token 발급 기록 / 확인 / 폐기
+ * 저장소(RefreshTokenStore)에는 토큰 해시와 만료 시각만 남고, 만료된 토큰은 주기적으로 나눠서 지운다.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenService {
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final int purgeBatchSize;
 
-    @Transactional
-    public RefreshToken addRefreshToken(RefreshToken refreshToken) {
-        return refreshTokenRepository.save(refreshToken);
+    public RefreshTokenService(RefreshTokenStore refreshTokenStore,
+                               @Value("${refresh-token.purge-batch-size:1000}") int purgeBatchSize) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    // 토큰마다 jti 가 달라 같은 초에 다시 로그인해도 해시가 겹치지 않는다
+    public void addRefreshToken(Long userId, String refreshToken, Date expiresAt) {
+        refreshTokenStore.save(userId, TokenHash.of(refreshToken), toLocalDateTime(expiresAt));
     }
 
-    @Transactional
     public void deleteRefreshToken(String refreshToken) {
-        refreshTokenRepository.findByValue(refreshToken).ifPresent(refreshTokenRepository::delete);
+        refreshTokenStore.delete(TokenHash.of(refreshToken));
+    }
+
+    // 저장소에 있고 만료되지 않은 토큰이면 발급받은 사용자 id
+    public Optional<Long> findUserId(String refreshToken) {
+        return refreshTokenStore.findUserId(TokenHash.of(refreshToken), LocalDateTime.now());
+    }
+
+    // 한 번에 purge-batch-size 건씩, 문장마다 커밋해서 긴 트랜잭션 없이 지운다
+    @Scheduled(fixedDelayString = "${refresh-token.purge-interval:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenStore.purgeExpired(now, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("만료된 refresh token {}건 정리", purged);
+        }
     }
 
-    @Transactional(readOnly = true)
-    public Optional<RefreshToken> findRefreshToken(String refreshToken) {
-        return refreshTokenRepository.findByValue(refreshToken);
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
     }
 }
@@ -0,0 +1,21 @@
+package com.example.teama.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * refresh token 저장소
+ * 토큰 원문 대신 TokenHash 를 키로 쓰고, 만료 시각이 지난 토큰은 찾지 않는다.
+ * refresh-token.store 로 구현을 고른다. (jpa: 여러 노드가 DB 를 공유, memory: 단일 노드, 재시작하면 다시 로그인)
+ */
+public interface RefreshTokenStore {
+
+    void save(Long userId, String tokenHash, LocalDateTime expiresAt);
+
+    Optional<Long> findUserId(String tokenHash, LocalDateTime now);
+
+    void delete(String tokenHash);
+
+    // 만료된 토큰을 최대 limit 건 지우고 지운 건수를 돌려준다
+    int purgeExpired(LocalDateTime now, int limit);
+}
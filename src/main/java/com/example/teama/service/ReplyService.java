@@ -0,0 +1,171 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.reply.ReplyCursor;
+import com.example.teama.dto.reply.ReplyResponseDto;
+import com.example.teama.dto.reply.ReplySaveRequestDto;
+import com.example.teama.dto.reply.ReplySliceResponseDto;
+import com.example.teama.dto.reply.ReplyUpdateRequestDto;
+import com.example.teama.entity.Reply;
+import com.example.teama.persistence.PostRepository;
+import com.example.teama.persistence.ReplyRepository;
+import com.example.teama.persistence.UserRepository;
+import com.example.teama.service.event.PostActivityEvent;
+import com.example.teama.service.event.PostCountersFlushedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class ReplyService {
+
+    private final ReplyRepository replyRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${reply.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${reply.page.max-size:200}")
+    private int maxPageSize;
+
+
+    // Save Reply
+    // 댓글 INSERT 와 게시글 reply_count 증가를 한 트랜잭션으로 처리하고, 커밋 후 게시글 캐시를 무효화한다.
+    public Long save(Long userId, Long postId, ReplySaveRequestDto requestDto) {
+        Long id = transactionTemplate.execute(status -> {
+            if (!postRepository.existsById(postId)) {
+                throw new IllegalArgumentException("해당 게시글이 없습니다. id = " + postId);
+            }
+
+            Reply parent = null;
+            if (requestDto.getParentId() != null) {
+                parent = findReply(requestDto.getParentId());
+                if (!parent.getPost().getId().equals(postId)) {
+                    throw new IllegalArgumentException("다른 게시글의 댓글에는 답글을 달 수 없습니다. parentId = " + parent.getId());
+                }
+                if (parent.getDepth() >= Reply.MAX_DEPTH) {
+                    parent = parent.getParent();   // 최대 깊이에서는 같은 깊이의 형제로 붙인다
+                }
+            }
+
+            Reply reply = replyRepository.save(Reply.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .post(postRepository.getReferenceById(postId))
+                    .parent(parent)
+                    .replyContent(requestDto.getReplyContent())
+                    .build());
+            reply.assignPath();
+            postRepository.addReplyCount(postId, 1);
+            return reply.getId();
+        });
+
+        eventPublisher.publishEvent(new PostCountersFlushedEvent(PostCountersFlushedEvent.Counter.REPLY, Set.of(postId)));
+        eventPublisher.publishEvent(PostActivityEvent.reply(postId, 1));
+        return id;
+    }
+
+    // Update Reply
+    @Transactional
+    public Long update(Long userId, Long replyId, ReplyUpdateRequestDto requestDto) {
+        Reply reply = findOwnReply(userId, replyId);
+        reply.update(requestDto.getReplyContent());
+        return replyId;
+    }
+
+    // Post Reply List (Keyset Pagination)
+    // 게시글의 댓글 전체를 스레드 순서로 읽는다. 커서는 마지막 댓글의 path 이다.
+    @Transactional(readOnly = true)
+    public ReplySliceResponseDto findThread(Long postId, String after, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);  // 다음 페이지 존재 여부 확인을 위해 1건 더 조회
+
+        List<ReplyResponseDto> replies = (after == null || after.isBlank())
+                ? replyRepository.findThread(postId, limit)
+                : replyRepository.findThreadAfter(postId, ReplyCursor.decode(after), limit);
+        return toSlice(replies, pageSize);
+    }
+
+    // Reply Subtree (Keyset Pagination)
+    // 댓글 하나와 그 아래 답글 전체를 스레드 순서로 읽는다.
+    @Transactional(readOnly = true)
+    public ReplySliceResponseDto findSubtree(Long replyId, String after, Integer size) {
+        Reply root = findReply(replyId);
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        Long postId = root.getPost().getId();
+        String prefix = root.getPath() + "%";
+        List<ReplyResponseDto> replies = (after == null || after.isBlank())
+                ? replyRepository.findSubtree(postId, prefix, limit)
+                : replyRepository.findSubtreeAfter(postId, prefix, ReplyCursor.decode(after), limit);
+        return toSlice(replies, pageSize);
+    }
+
+    // Delete Reply
+    // 답글이 모두 본인 것이면 path 접두사로 한 번에 삭제하고, 그중 삭제 표시되지 않았던 건수만큼 reply_count 를 줄인다.
+    // (삭제 표시된 댓글은 표시할 때 이미 뺐으므로 다시 빼지 않는다)
+    // 다른 사용자의 답글이 있으면 그 답글은 지울 권한이 없으므로 이 댓글만 삭제 표시하고 답글은 남긴다.
+    public void delete(Long userId, Long replyId) {
+        long[] deleted = new long[1];
+        Long postId = transactionTemplate.execute(status -> {
+            Reply reply = findOwnReply(userId, replyId);
+            Long id = reply.getPost().getId();
+            String prefix = reply.getPath() + "%";
+            if (replyRepository.existsOtherAuthorInSubtree(id, prefix, userId)) {
+                reply.markDeleted();
+                deleted[0] = 1;
+            } else {
+                deleted[0] = replyRepository.countLiveInSubtree(id, prefix);
+                replyRepository.deleteSubtree(id, prefix);
+            }
+            postRepository.addReplyCount(id, -deleted[0]);
+            return id;
+        });
+
+        eventPublisher.publishEvent(new PostCountersFlushedEvent(PostCountersFlushedEvent.Counter.REPLY, Set.of(postId)));
+        eventPublisher.publishEvent(PostActivityEvent.reply(postId, -deleted[0]));
+    }
+
+    private Reply findReply(Long replyId) {
+        return replyRepository.findById(replyId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 댓글이 없습니다. id = " + replyId));
+    }
+
+    private Reply findOwnReply(Long userId, Long replyId) {
+        Reply reply = findReply(replyId);
+        if (!Objects.equals(reply.getUser().getId(), userId)) {
+            throw new IllegalArgumentException("본인이 작성한 댓글만 수정/삭제할 수 있습니다. id = " + replyId);
+        }
+        if (reply.isDeleted()) {
+            throw new IllegalArgumentException("삭제된 댓글입니다. id = " + replyId);
+        }
+        return reply;
+    }
+
+    private ReplySliceResponseDto toSlice(List<ReplyResponseDto> replies, int pageSize) {
+        boolean hasNext = replies.size() > pageSize;
+        List<ReplyResponseDto> content = hasNext ? replies.subList(0, pageSize) : replies;
+
+        String nextCursor = hasNext ? ReplyCursor.encode(content.get(content.size() - 1).getPath()) : null;
+        return new ReplySliceResponseDto(content, nextCursor);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
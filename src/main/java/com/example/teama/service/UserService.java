@@ -29,6 +29,13 @@ public class UserService {
         return saveUser;
     }
 
+    // 로그인 시 더 높은 BCrypt cost 로 다시 해시한 비밀번호를 저장한다.
+    // 그 사이 비밀번호가 바뀌었으면(저장된 해시가 previous 와 다르면) 건드리지 않는다. (조건부 UPDATE 한 번)
+    @Transactional
+    public void rehashPassword(Long userId, String previousPassword, String rehashedPassword) {
+        userRepository.updatePasswordIfUnchanged(userId, previousPassword, rehashedPassword);
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> getUser(Long UserId){
         return userRepository.findById(UserId);
@@ -0,0 +1,35 @@
+package com.example.teama.service.event;
+
+import lombok.Getter;
+
+/**
+ * 게시글에 좋아요/댓글/조회 등의 활동이 반영되면 발행된다. delta 는 반영된 건수(취소/삭제면 음수)이다.
+ * 좋아요는 TBL_HEART 에 실제로 반영된 건만(중복 좋아요, 없는 좋아요 취소 제외) 발행된다.
+ * 조회는 요청마다가 아니라 PostViewCounter 가 flush 할 때 게시글별로 모아서 발행된다.
+ */
+@Getter
+public class PostActivityEvent {
+    public enum Type { HEART, REPLY, VIEW }
+
+    private final Type type;
+    private final Long postId;
+    private final long delta;
+
+    public PostActivityEvent(Type type, Long postId, long delta) {
+        this.type = type;
+        this.postId = postId;
+        this.delta = delta;
+    }
+
+    public static PostActivityEvent heart(Long postId, long delta) {
+        return new PostActivityEvent(Type.HEART, postId, delta);
+    }
+
+    public static PostActivityEvent reply(Long postId, long delta) {
+        return new PostActivityEvent(Type.REPLY, postId, delta);
+    }
+
+    public static PostActivityEvent view(Long postId, long delta) {
+        return new PostActivityEvent(Type.VIEW, postId, delta);
+    }
+}
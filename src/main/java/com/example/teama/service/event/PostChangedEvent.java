@@ -0,0 +1,36 @@
+package com.example.teama.service.event;
+
+import lombok.Getter;
+
+/**
+ * 게시글이 저장/수정/삭제되면 PostService 가 발행한다.
+ * 검색 색인 등 게시글 내용으로 만든 메모리 구조는 이 이벤트로 갱신된다. 삭제 이벤트에는 제목/본문이 없다.
+ */
+@Getter
+public class PostChangedEvent {
+    public enum Type { SAVED, UPDATED, DELETED }
+
+    private final Type type;
+    private final Long postId;
+    private final String postTitle;
+    private final String postContent;
+
+    private PostChangedEvent(Type type, Long postId, String postTitle, String postContent) {
+        this.type = type;
+        this.postId = postId;
+        this.postTitle = postTitle;
+        this.postContent = postContent;
+    }
+
+    public static PostChangedEvent saved(Long postId, String postTitle, String postContent) {
+        return new PostChangedEvent(Type.SAVED, postId, postTitle, postContent);
+    }
+
+    public static PostChangedEvent updated(Long postId, String postTitle, String postContent) {
+        return new PostChangedEvent(Type.UPDATED, postId, postTitle, postContent);
+    }
+
+    public static PostChangedEvent deleted(Long postId) {
+        return new PostChangedEvent(Type.DELETED, postId, null, null);
+    }
+}
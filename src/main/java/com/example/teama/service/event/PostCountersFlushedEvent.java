@@ -0,0 +1,27 @@
+package com.example.teama.service.event;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * 게시글 카운터(좋아요 수, 댓글 수 등)의 변경이 DB 에 커밋된 뒤 발행된다.
+ * 반영 전 값을 들고 있는 캐시는 이 이벤트를 받아 해당 게시글을 무효화한다.
+ */
+@Getter
+public class PostCountersFlushedEvent {
+    public enum Counter { HEART, REPLY, VIEW }
+
+    private final Counter counter;
+    private final Set<Long> postIds;
+
+    public PostCountersFlushedEvent(Counter counter, Set<Long> postIds) {
+        this.counter = counter;
+        this.postIds = postIds;
+    }
+
+    // 조회수는 상세에만 나오므로 목록 캐시는 무시해도 된다.
+    public boolean affectsList() {
+        return counter != Counter.VIEW;
+    }
+}
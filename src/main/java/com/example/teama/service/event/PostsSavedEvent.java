@@ -0,0 +1,19 @@
+package com.example.teama.service.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 게시글 일괄 등록(PostService.saveAll)이 끝나면 한 번 발행된다.
+ * 글마다 PostChangedEvent 를 쌓으면 커밋까지 모든 본문을 붙잡고 있으므로 id 만 담고,
+ * 내용이 필요한 리스너(검색 색인)는 커밋 뒤에 chunk 단위로 다시 읽는다.
+ */
+@Getter
+public class PostsSavedEvent {
+    private final List<Long> postIds;
+
+    public PostsSavedEvent(List<Long> postIds) {
+        this.postIds = postIds;
+    }
+}
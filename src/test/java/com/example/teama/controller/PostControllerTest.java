@@ -1,5 +1,6 @@
 package com.example.teama.controller;
 
+import com.example.teama.dto.post.PostCursor;
 import com.example.teama.dto.post.PostSaveRequestDto;
 import com.example.teama.dto.post.PostUpdateRequestDto;
 import com.example.teama.entity.Post;
@@ -7,20 +8,28 @@ import com.example.teama.entity.User;
 import com.example.teama.persistence.PostRepository;
 import com.example.teama.persistence.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -39,6 +48,12 @@ public class PostControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @Transactional
     @DisplayName("savePost() 테스트")
@@ -138,6 +153,86 @@ public class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @Transactional
+    @DisplayName("findById() 조건부 GET 테스트")
+    public void findByIdNotModified() throws Exception {
+        User user = User.builder()
+                .userEmail("email")
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("nickname")
+                .build();
+
+        userRepository.save(user);
+
+        Post savedPosts = postRepository.save(Post.builder()
+                .user(user)
+                .postTitle("title")
+                .postContent("content")
+                .build());
+
+        Long getPostId = savedPosts.getId();
+
+        String eTag = mockMvc.perform(get("/api/v1/post/{id}", getPostId)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/post/{id}", getPostId)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        mockMvc.perform(get("/api/v1/post/{id}", getPostId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"p0-0-0\"")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("findByIds() 여러 건 조회 테스트")
+    public void findByIds() throws Exception {
+        User user = User.builder()
+                .userEmail("email")
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("nickname")
+                .build();
+
+        userRepository.save(user);
+
+        Post first = postRepository.save(Post.builder()
+                .user(user)
+                .postTitle("title")
+                .postContent("content")
+                .build());
+
+        Post second = postRepository.save(Post.builder()
+                .user(user)
+                .postTitle("title2")
+                .postContent("content2")
+                .build());
+
+        // 요청 순서대로, 없는 id 는 found = false
+        mockMvc.perform(get("/api/v1/post")
+                .param("ids", second.getId() + "," + Long.MAX_VALUE + "," + first.getId())
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").value(second.getId()))
+                .andExpect(jsonPath("$[0].post.postTitle").value("title2"))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[1].post").doesNotExist())
+                .andExpect(jsonPath("$[2].post.postContent").value("content"))
+                .andDo(print());
+    }
+
     @Test
     @Transactional
     @DisplayName("findAllDesc() 테스트")
@@ -169,6 +264,91 @@ public class PostControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    @Transactional
+    @DisplayName("findPage() 커서 페이지네이션 테스트")
+    public void findPage() throws Exception {
+        User user = User.builder()
+                .userEmail("email")
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("nickname")
+                .build();
+
+        userRepository.save(user);
+
+        Post first = postRepository.save(Post.builder()
+                .user(user)
+                .postTitle("title")
+                .postContent("content")
+                .build());
+
+        Post second = postRepository.save(Post.builder()
+                .user(user)
+                .postTitle("title2")
+                .postContent("content2")
+                .build());
+
+        mockMvc.perform(get("/api/v1/post")
+                .param("size", "1")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].id").value(second.getId()))
+                .andExpect(jsonPath("$.nextCursor").value(PostCursor.encode(second.getId())))
+                .andDo(print());
+
+        mockMvc.perform(get("/api/v1/post")
+                .param("after", PostCursor.encode(second.getId()))
+                .param("size", "1")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].id").value(first.getId()))
+                .andDo(print());
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("findPage() 페이지 크기와 무관하게 SQL 실행 횟수가 일정한지 테스트")
+    public void findPageStatementCount() throws Exception {
+        User user = User.builder()
+                .userEmail("email")
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("nickname")
+                .build();
+
+        userRepository.save(user);
+
+        for (int i = 0; i < 10; i++) {
+            postRepository.save(Post.builder()
+                    .user(user)
+                    .postTitle("title" + i)
+                    .postContent("content" + i)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        long smallPage = countListStatements(statistics, 2);
+        long largePage = countListStatements(statistics, 10);
+
+        assertThat(smallPage).isEqualTo(1);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    private long countListStatements(Statistics statistics, int size) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/post")
+                .param("size", String.valueOf(size))
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].user").doesNotExist());
+        return statistics.getPrepareStatementCount();
+    }
+
     @Test
     @Transactional
     @DisplayName("deletePost() 테스트")
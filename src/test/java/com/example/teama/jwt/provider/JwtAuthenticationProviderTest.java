@@ -0,0 +1,75 @@
+package com.example.teama.jwt.provider;
+
+import com.example.teama.jwt.exception.RevokedTokenException;
+import com.example.teama.jwt.token.JwtAuthenticationToken;
+import com.example.teama.jwt.util.JwtTokenizer;
+import com.example.teama.jwt.util.RoleCodec;
+import com.example.teama.jwt.util.TokenClaims;
+import com.example.teama.persistence.RoleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 로그아웃한 access token 거절
+ * 검증 캐시에 올라간 토큰도 폐기되면 바로 거절되는지, 폐기 저장이 실패해도 로그아웃이 예외 없이 끝나고 다음 동기화 때 다시 저장되는지 확인한다.
+ * (DB 는 mock)
+ */
+public class JwtAuthenticationProviderTest {
+    private static final String SECRET = "12345678901234567890123456789012";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final JwtTokenizer jwtTokenizer = new JwtTokenizer(SECRET, SECRET);
+    private final TokenRevocationList tokenRevocationList =
+            new TokenRevocationList(jdbcTemplate, Duration.ofMinutes(1), Duration.ofMinutes(1), 1000);
+    private final JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtTokenizer,
+            new VerifiedTokenCache(100, new SimpleMeterRegistry()), new RoleCodec(mock(RoleRepository.class)), tokenRevocationList);
+
+    @Test
+    @DisplayName("로그아웃한 토큰은 검증 캐시에 있어도 거절하고, 다른 토큰은 그대로 통과한다")
+    public void rejectRevokedToken() {
+        String loggedOut = jwtTokenizer.createAccessToken(1L, "user@example.com", "닉네임", 0);
+        String other = jwtTokenizer.createAccessToken(1L, "user@example.com", "닉네임", 0);
+        assertThat(provider.authenticate(new JwtAuthenticationToken(loggedOut)).getPrincipal()).isNotNull();
+
+        TokenClaims claims = jwtTokenizer.parseAccessToken(loggedOut);
+        tokenRevocationList.revoke(claims.tokenId(), claims.expiration());
+
+        assertThatThrownBy(() -> provider.authenticate(new JwtAuthenticationToken(loggedOut)))
+                .isInstanceOf(RevokedTokenException.class);
+        assertThat(provider.authenticate(new JwtAuthenticationToken(other)).getPrincipal()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("폐기 저장이 실패해도 예외 없이 이 노드에는 반영되고, 다음 동기화 때 다시 저장한다")
+    public void retryFailedSave() {
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .doReturn(1)
+                .when(jdbcTemplate).update(startsWith("INSERT"), any(), any(), any());
+        String token = jwtTokenizer.createAccessToken(1L, "user@example.com", "닉네임", 0);
+        TokenClaims claims = jwtTokenizer.parseAccessToken(token);
+
+        tokenRevocationList.revoke(claims.tokenId(), claims.expiration());
+
+        assertThat(tokenRevocationList.isRevoked(claims.tokenId())).isTrue();
+        assertThatThrownBy(() -> provider.authenticate(new JwtAuthenticationToken(token)))
+                .isInstanceOf(RevokedTokenException.class);
+
+        tokenRevocationList.sync();
+        tokenRevocationList.sync();
+        verify(jdbcTemplate, times(2)).update(startsWith("INSERT"), any(), any(), any());
+    }
+}
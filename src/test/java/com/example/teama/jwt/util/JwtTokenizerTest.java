@@ -0,0 +1,109 @@
+package com.example.teama.jwt.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * access token 형식 비교
+ * before: sub=email, id, roles 문자열 배열, name(=BCrypt 해시), iat, exp 를 담고 요청마다 parser 를 새로 만들어 Map 에서 꺼내던 형식
+ * after: 짧은 키, 권한 bitmask, 닉네임을 담은 v1 형식 + 미리 만들어 둔 parser
+ * 크기는 항상 검증하고, 파싱 시간 비교(sizeAndParseTime)는 평소 빌드에서 제외한다. 돌려볼 때는 @Ignore 를 지운다.
+ */
+public class JwtTokenizerTest {
+    private static final String SECRET = "12345678901234567890123456789012";
+    private static final int ITERATIONS = 20_000;
+
+    private final JwtTokenizer jwtTokenizer = new JwtTokenizer(SECRET, SECRET);
+
+    @Test
+    @DisplayName("v1 토큰 생성/파싱")
+    public void compactClaims() {
+        String token = jwtTokenizer.createAccessToken(42L, "user@example.com", "닉네임", 0b11);
+
+        TokenClaims claims = jwtTokenizer.parseAccessToken(token);
+
+        assertThat(claims.userId()).isEqualTo(42L);
+        assertThat(claims.email()).isEqualTo("user@example.com");
+        assertThat(claims.userNickname()).isEqualTo("닉네임");
+        assertThat(claims.roles()).isEqualTo(0b11);
+        assertThat(claims.expiration()).isAfter(new Date());
+        assertThat(claims.tokenId()).hasSize(JwtTokenizer.TOKEN_ID_LENGTH)
+                .isNotEqualTo(jwtTokenizer.parseAccessToken(jwtTokenizer.createAccessToken(42L, "user@example.com", "닉네임", 0b11)).tokenId());
+    }
+
+    @Test
+    @DisplayName("이전 형식 토큰은 거절한다")
+    public void rejectLegacyToken() {
+        assertThatThrownBy(() -> jwtTokenizer.parseAccessToken(legacyToken()))
+                .isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    @DisplayName("v1 토큰이 이전 형식보다 짧다")
+    public void tokenSize() {
+        String compact = jwtTokenizer.createAccessToken(42L, "user@example.com", "nickname", 0b1);
+
+        assertThat(compact.length()).isLessThan(legacyToken().length());
+    }
+
+    @Ignore("benchmark")
+    @Test
+    @DisplayName("토큰 크기 / 파싱 시간 before vs after")
+    public void sizeAndParseTime() {
+        String legacy = legacyToken();
+        String compact = jwtTokenizer.createAccessToken(42L, "user@example.com", "nickname", 0b1);
+
+        long legacyNanos = time(() -> {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(JwtTokenizer.getSigningKey(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseClaimsJws(legacy)
+                    .getBody();
+            claims.getSubject();
+            claims.get("id", Long.class);
+            claims.get("roles");
+        });
+        long compactNanos = time(() -> jwtTokenizer.parseAccessToken(compact));
+
+        System.out.printf("token bytes: before=%d, after=%d (-%d%%) / parse: before=%.1fus, after=%.1fus%n",
+                legacy.length(), compact.length(), 100 - compact.length() * 100 / legacy.length(),
+                legacyNanos / 1000.0 / ITERATIONS, compactNanos / 1000.0 / ITERATIONS);
+        assertThat(compact.length()).isLessThan(legacy.length());
+    }
+
+    // UserController.login 이 예전에 만들던 토큰 (name 자리에 BCrypt 해시가 들어갔다)
+    private static String legacyToken() {
+        Claims claims = Jwts.claims().setSubject("user@example.com");
+        claims.put("roles", List.of("ROLE_USER"));
+        claims.put("id", 42L);
+        claims.put("name", "$2a$10$7EqJtq98hPqEX7fNZaFWoO5Y0wP5gG0y8k9Y6nHc8rVbC5x1c2d3e");
+        return Jwts.builder()
+                .setClaims(claims)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + JwtTokenizer.ACCESS_TOKEN_EXPIRE_COUNT))
+                .signWith(JwtTokenizer.getSigningKey(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static long time(Runnable parse) {
+        for (int i = 0; i < ITERATIONS; i++) {   // warm-up
+            parse.run();
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parse.run();
+        }
+        return System.nanoTime() - startedAt;
+    }
+}
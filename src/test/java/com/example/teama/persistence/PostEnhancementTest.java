@@ -0,0 +1,106 @@
+package com.example.teama.persistence;
+
+import com.example.teama.entity.Post;
+import com.example.teama.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * bytecode enhancement 적용 확인
+ * 게시글을 엔티티로 읽을 때 본문(BLOB)과 작성자를 SELECT 하지 않고, 수정 시 바뀐 컬럼만 UPDATE 하는지 실행된 SQL 로 확인한다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.teama.persistence.PostEnhancementTest$SqlCapture")
+@Transactional
+@Rollback(true)
+public class PostEnhancementTest {
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    UserRepository userRepository;
+
+    private Long postId;
+
+    @Before
+    public void setUp() {
+        User user = userRepository.save(User.builder()
+                .userEmail("email")
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("nickname")
+                .build());
+        Post post = Post.builder().user(user).postTitle("title").postContent("content").build();
+        entityManager.persist(post);
+        entityManager.flush();
+        entityManager.clear();
+        postId = post.getId();
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("엔티티 조회 시 본문과 작성자는 읽지 않는다")
+    public void lazyLoad() {
+        Post post = entityManager.find(Post.class, postId);
+
+        assertThat(post).isInstanceOf(SelfDirtinessTracker.class);
+        assertThat(Hibernate.isPropertyInitialized(post, "postContent")).isFalse();
+        assertThat(Hibernate.isInitialized(post.getUser())).isFalse();
+        String select = SqlCapture.last("select");
+        assertThat(select).doesNotContain("post_content_z").doesNotContain("tbl_user");
+
+        assertThat(post.getPostContent()).isEqualTo("content");
+        assertThat(SqlCapture.last("select")).contains("post_content_z");
+    }
+
+    @Test
+    @DisplayName("수정 시 바뀐 컬럼만 UPDATE 한다")
+    public void dirtyTracking() {
+        Post post = entityManager.find(Post.class, postId);
+        post.update("new title", "new content");
+
+        assertThat(((SelfDirtinessTracker) post).$$_hibernate_getDirtyAttributes())
+                .contains("postTitle", "postContent", "postSnippet")
+                .doesNotContain("user", "deleted", "postRegisterDates");
+        entityManager.flush();
+
+        String update = SqlCapture.last("update");
+        assertThat(update).contains("post_title", "post_content_z", "post_snippet")
+                .doesNotContain("user_id").doesNotContain("deleted").doesNotContain("post_register_dates");
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+
+        static String last(String prefix) {
+            for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+                if (STATEMENTS.get(i).stripLeading().startsWith(prefix)) {
+                    return STATEMENTS.get(i);
+                }
+            }
+            return "";
+        }
+    }
+}
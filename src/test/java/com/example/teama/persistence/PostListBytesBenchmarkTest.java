@@ -0,0 +1,100 @@
+package com.example.teama.persistence;
+
+import com.example.teama.dto.post.PostSummaryDto;
+import com.example.teama.entity.Post;
+import com.example.teama.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 한 페이지를 읽을 때 DB 가 보내는 byte 수 비교
+ * before: 본문 전체를 읽는 목록 (엔티티 목록과 같은 컬럼) vs after: PostRepository.findSummaries (snippet 컬럼만)
+ * 같은 트랜잭션(같은 세션)에서 v$mystat 의 통계 증가분을 잰다. v$mystat, v$statname 조회 권한이 필요하고
+ * 평소 빌드에서는 제외한다. 돌려볼 때는 @Ignore 를 지우고 -Dbenchmark.rows=N, -Dbenchmark.content-length=N 으로 바꿀 수 있다.
+ */
+@Ignore("benchmark")
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.format_sql=false"})
+@Transactional
+@Rollback(true)
+public class PostListBytesBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000);
+    private static final int CONTENT_LENGTH = Integer.getInteger("benchmark.content-length", 4_000);
+    private static final int PAGE_SIZE = 20;
+    private static final String STAT_SQL = "SELECT n.name, m.value FROM v$mystat m JOIN v$statname n ON m.statistic# = n.statistic# " +
+            "WHERE n.name IN ('bytes sent via SQL*Net to client', 'session logical reads')";
+    private static final String FULL_CONTENT_PAGE_SQL = "SELECT id, post_title, post_content_z, post_register_dates, post_update_dates " +
+            "FROM TBL_POST WHERE deleted = 0 ORDER BY id DESC FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("목록 한 페이지 bytes sent / logical reads")
+    public void listBytes() {
+        User user = userRepository.save(User.builder()
+                .userEmail("bench-" + System.nanoTime())
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("bench-" + System.nanoTime())
+                .build());
+        String paragraph = "안녕하세요. 이번 스터디 일정 공유합니다. 서버 개발 프로젝트 회의는 오늘 저녁입니다.\n";
+        String content = paragraph.repeat(CONTENT_LENGTH / paragraph.length() + 1).substring(0, CONTENT_LENGTH);
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(Post.builder().user(user).postTitle("title " + i).postContent(i + " " + content).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // 첫 실행의 parse/딕셔너리 조회가 섞이지 않도록 한 번씩 미리 돌린다
+        jdbcTemplate.queryForList(FULL_CONTENT_PAGE_SQL);
+        postRepository.findSummaries(PageRequest.ofSize(PAGE_SIZE));
+
+        long[] before = stats();
+        jdbcTemplate.queryForList(FULL_CONTENT_PAGE_SQL);
+        long[] fullContent = delta(before, stats());
+
+        before = stats();
+        List<PostSummaryDto> page = postRepository.findSummaries(PageRequest.ofSize(PAGE_SIZE));
+        long[] snippet = delta(before, stats());
+
+        System.out.printf("posts=%d, content=%d chars, page=%d: full content %d bytes / %d logical reads, snippet %d bytes / %d logical reads%n",
+                ROWS, CONTENT_LENGTH, PAGE_SIZE, fullContent[0], fullContent[1], snippet[0], snippet[1]);
+        assertThat(page).hasSize(PAGE_SIZE);
+        assertThat(page.get(0).getPostSnippet()).hasSizeLessThanOrEqualTo(Post.SNIPPET_LENGTH);
+    }
+
+    // [bytes sent, logical reads] - 통계 조회 자체의 몫도 들어가지만 두 측정에 똑같이 들어간다
+    private long[] stats() {
+        long[] stats = new long[2];
+        jdbcTemplate.query(STAT_SQL, resultSet -> {
+            int index = resultSet.getString("name").startsWith("bytes") ? 0 : 1;
+            stats[index] = resultSet.getLong("value");
+        });
+        return stats;
+    }
+
+    private static long[] delta(long[] before, long[] after) {
+        return new long[]{after[0] - before[0], after[1] - before[1]};
+    }
+}
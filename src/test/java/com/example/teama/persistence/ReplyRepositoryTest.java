@@ -0,0 +1,79 @@
+package com.example.teama.persistence;
+
+import com.example.teama.dto.reply.ReplyResponseDto;
+import com.example.teama.entity.Post;
+import com.example.teama.entity.Reply;
+import com.example.teama.entity.User;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback(true)
+public class ReplyRepositoryTest {
+    @Autowired
+    ReplyRepository replyRepository;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    @DisplayName("댓글 스레드는 path 순서(depth-first)로 조회된다")
+    public void findThread() {
+        // given
+        User user = userRepository.save(User.builder()
+                .userEmail("email")
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("nickname")
+                .build());
+        Post post = postRepository.save(Post.builder()
+                .user(user)
+                .postTitle("title")
+                .postContent("content")
+                .build());
+
+        Reply first = save(user, post, null, "first");
+        Reply second = save(user, post, null, "second");
+        Reply firstChild = save(user, post, first, "first-child");
+        Reply grandChild = save(user, post, firstChild, "grand-child");
+
+        // when
+        List<ReplyResponseDto> thread = replyRepository.findThread(post.getId(), PageRequest.of(0, 10));
+        List<ReplyResponseDto> subtree = replyRepository.findSubtree(post.getId(), first.getPath() + "%", PageRequest.of(0, 10));
+        List<ReplyResponseDto> afterFirstChild = replyRepository.findThreadAfter(post.getId(), firstChild.getPath(), PageRequest.of(0, 10));
+
+        // then
+        assertThat(thread).extracting(ReplyResponseDto::getId)
+                .containsExactly(first.getId(), firstChild.getId(), grandChild.getId(), second.getId());
+        assertThat(thread).extracting(ReplyResponseDto::getDepth).containsExactly(0, 1, 2, 0);
+        assertThat(subtree).extracting(ReplyResponseDto::getId)
+                .containsExactly(first.getId(), firstChild.getId(), grandChild.getId());
+        assertThat(afterFirstChild).extracting(ReplyResponseDto::getId)
+                .containsExactly(grandChild.getId(), second.getId());
+    }
+
+    private Reply save(User user, Post post, Reply parent, String content) {
+        Reply reply = replyRepository.save(Reply.builder()
+                .user(user)
+                .post(post)
+                .parent(parent)
+                .replyContent(content)
+                .build());
+        reply.assignPath();
+        return reply;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.teama.search;
+
+import com.example.teama.entity.CompressedContentConverter;
+import com.example.teama.service.event.PostChangedEvent;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 기동 시 색인 생성
+ * 스캔 도중 커밋된 변경이 스캔 결과에 덮이지 않고, 스캔이 끝난 뒤 순서대로 반영되는지 확인한다. (DB 는 mock)
+ */
+public class PostIndexInitializerTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PostSearchIndex postSearchIndex = new PostSearchIndex();
+    private final TitleSuggestIndex titleSuggestIndex = new TitleSuggestIndex(10, 30);
+    private final PostIndexInitializer initializer = new PostIndexInitializer(jdbcTemplate, postSearchIndex, titleSuggestIndex,
+            new TrendingPostIndex(Duration.ofHours(6), 1.0, 2.0, 0.1));
+
+    @Test
+    @DisplayName("스캔 중에 들어온 삭제/수정 이벤트는 스캔이 끝난 뒤 반영된다")
+    public void replayEventsAfterScan() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(1L, 2L);
+        when(resultSet.getString("post_title")).thenReturn("스프링 공지", "자유 게시판");
+        when(resultSet.getBytes("post_content_z")).thenReturn(CompressedContentConverter.encode("spring"),
+                CompressedContentConverter.encode("jpa"));
+
+        doAnswer(invocation -> {
+            // 스캔이 시작된 뒤 커밋된 변경 (스캔 결과에는 예전 값이 읽힌다)
+            initializer.onPostChanged(PostChangedEvent.deleted(1L));
+            initializer.onPostChanged(PostChangedEvent.updated(2L, "이벤트 안내", "jpa"));
+            assertThat(postSearchIndex.search("jpa", 10)).isEmpty();
+
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        initializer.start();
+
+        assertThat(postSearchIndex.search("spring", 10)).isEmpty();
+        assertThat(postSearchIndex.search("jpa", 10)).containsExactly(2L);
+        assertThat(titleSuggestIndex.suggest("스프", 10)).isEmpty();
+        assertThat(titleSuggestIndex.suggest("자유", 10)).isEmpty();
+        assertThat(titleSuggestIndex.suggest("이벤", 10)).extracting("id").containsExactly(2L);
+
+        // 생성이 끝난 뒤의 변경은 바로 반영된다
+        initializer.onPostChanged(PostChangedEvent.saved(3L, "새 글", "spring"));
+        assertThat(postSearchIndex.search("spring", 10)).containsExactly(3L);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.teama.search;
+
+import com.example.teama.service.event.PostChangedEvent;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BM25 검색 색인
+ * 점수 순서(제목 가중치, 드문 단어), 게시글 수정/삭제 이벤트 반영을 확인한다.
+ */
+public class PostSearchIndexTest {
+    private final PostSearchIndex postSearchIndex = new PostSearchIndex();
+
+    @Test
+    @DisplayName("제목에 나온 글과 단어가 여러 번 나온 글이 앞에 온다")
+    public void ranking() {
+        postSearchIndex.index(1L, "spring boot", "jpa 설정 정리");
+        postSearchIndex.index(2L, "일상", "오늘은 spring 공부");
+        postSearchIndex.index(3L, "일상", "점심 메뉴");
+        postSearchIndex.index(4L, "spring spring", "spring 스터디 모집");
+
+        assertThat(postSearchIndex.search("spring", 10)).containsExactly(4L, 1L, 2L);
+        assertThat(postSearchIndex.search("spring", 2)).containsExactly(4L, 1L);
+        assertThat(postSearchIndex.search("점심 spring", 10)).startsWith(3L);
+        assertThat(postSearchIndex.search("없는단어", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정하면 예전 단어로는 찾을 수 없고, 삭제하면 결과에서 빠진다")
+    public void updateAndDelete() {
+        postSearchIndex.onPostChanged(PostChangedEvent.saved(1L, "게시판 공지", "spring"));
+        postSearchIndex.onPostChanged(PostChangedEvent.saved(2L, "자유 게시판", "jpa"));
+
+        postSearchIndex.onPostChanged(PostChangedEvent.updated(1L, "이벤트 안내", "spring"));
+        assertThat(postSearchIndex.search("게시판", 10)).containsExactly(2L);
+        assertThat(postSearchIndex.search("이벤트", 10)).containsExactly(1L);
+
+        postSearchIndex.onPostChanged(PostChangedEvent.deleted(2L));
+        assertThat(postSearchIndex.search("게시판", 10)).isEmpty();
+        assertThat(postSearchIndex.search("spring", 10)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.teama.search;
+
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 블록 단위 posting list
+ * 뒤에 붙이기, 중간 삽입(블록 나누기), 삭제(블록 합치기)를 섞어도 TreeMap 과 같은 내용을 id 순으로 돌려주는지 확인한다.
+ */
+public class PostingListTest {
+
+    @Test
+    @DisplayName("임의의 추가/수정/삭제 뒤에도 TreeMap 과 같은 내용")
+    public void matchesTreeMap() {
+        Random random = new Random(7);
+        PostingList postingList = new PostingList();
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+
+        long lastPostId = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 4) {
+                lastPostId += 1 + random.nextInt(5);
+                put(postingList, expected, lastPostId, 1 + random.nextInt(300));
+            } else if (operation < 7) {
+                put(postingList, expected, 1 + (long) (random.nextDouble() * lastPostId), 1 + random.nextInt(300));
+            } else {
+                long postId = 1 + (long) (random.nextDouble() * (lastPostId + 10));
+                postingList.remove(postId);
+                expected.remove(postId);
+            }
+        }
+
+        assertThat(postingList.size()).isEqualTo(expected.size());
+        assertThat(toMap(postingList)).containsExactlyEntriesOf(expected);
+    }
+
+    @Test
+    @DisplayName("없는 id 를 지워도 그대로, 모두 지우면 비고 다시 쓸 수 있다")
+    public void removeAll() {
+        PostingList postingList = new PostingList();
+        for (long postId = 1; postId <= PostingList.BLOCK_SIZE * 3; postId++) {
+            postingList.put(postId * 2, 1);
+        }
+
+        postingList.remove(3L);
+        postingList.remove(10_000L);
+        assertThat(postingList.size()).isEqualTo(PostingList.BLOCK_SIZE * 3);
+
+        for (long postId = 1; postId <= PostingList.BLOCK_SIZE * 3; postId++) {
+            postingList.remove(postId * 2);
+        }
+        assertThat(postingList.isEmpty()).isTrue();
+
+        postingList.put(5L, 2);
+        assertThat(toMap(postingList)).containsExactly(Map.entry(5L, 2));
+    }
+
+    private static void put(PostingList postingList, Map<Long, Integer> expected, long postId, int frequency) {
+        postingList.put(postId, frequency);
+        expected.put(postId, frequency);
+    }
+
+    private static Map<Long, Integer> toMap(PostingList postingList) {
+        List<Long> order = new ArrayList<>();
+        Map<Long, Integer> result = new TreeMap<>();
+        postingList.forEach((postId, frequency) -> {
+            order.add(postId);
+            result.put(postId, frequency);
+        });
+        assertThat(order).isSorted().doesNotHaveDuplicates();
+        return result;
+    }
+}
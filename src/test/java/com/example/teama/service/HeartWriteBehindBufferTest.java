@@ -0,0 +1,173 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.heart.HeartKey;
+import com.example.teama.persistence.HeartJdbcRepository;
+import com.example.teama.service.event.PostActivityEvent;
+import com.example.teama.service.event.PostCountersFlushedEvent;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 좋아요 write-behind 버퍼
+ * 같은 (사용자, 게시글)의 연속된 요청이 마지막 상태 하나로 합쳐지는지, 반영 전에 죽은 로그를 다음 기동 때 다시 반영하는지,
+ * heart_count 가 TBL_HEART 와 같은 트랜잭션에서 갱신되는지, 반영 전 좋아요 수 증감분이 맞는지 확인한다. (DB 는 mock)
+ */
+public class HeartWriteBehindBufferTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final HeartJdbcRepository heartJdbcRepository = mock(HeartJdbcRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    @DisplayName("연속된 좋아요/취소는 마지막 상태 한 건으로 반영되고 heart_count 는 같은 트랜잭션에서 갱신된다")
+    public void coalesce() {
+        HeartWriteBehindBuffer buffer = newBuffer();
+        buffer.add(1L, 10L);
+        buffer.remove(1L, 10L);
+        buffer.add(1L, 10L);
+        buffer.add(2L, 10L);
+        when(heartJdbcRepository.batchInsertIfAbsent(anyList())).thenReturn(new int[]{1, 1});
+        when(heartJdbcRepository.batchDelete(anyList())).thenReturn(new int[0]);
+
+        buffer.flush();
+
+        ArgumentCaptor<List<HeartKey>> inserts = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(transactionManager, heartJdbcRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(heartJdbcRepository).batchInsertIfAbsent(inserts.capture());
+        inOrder.verify(heartJdbcRepository).addHeartCounts(new TreeMap<>(Map.of(10L, 2L)));
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(inserts.getValue()).containsExactlyInAnyOrder(new HeartKey(1L, 10L), new HeartKey(2L, 10L));
+
+        assertThat(events).hasSize(2);
+        assertThat(((PostCountersFlushedEvent) events.get(0)).getPostIds()).containsExactly(10L);
+        assertThat(((PostActivityEvent) events.get(1)).getDelta()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("반영 전에 종료되면 다음 기동 때 로그를 다시 읽어 반영하고, 반영 후 로그를 지운다")
+    public void replay() {
+        HeartWriteBehindBuffer crashed = newBuffer();
+        crashed.add(1L, 10L);
+        crashed.add(1L, 11L);
+        crashed.remove(1L, 11L);
+        verify(heartJdbcRepository, never()).batchInsertIfAbsent(anyList());
+
+        HeartWriteBehindBuffer restarted = newBuffer();
+        when(heartJdbcRepository.batchInsertIfAbsent(anyList())).thenReturn(new int[]{1});
+        when(heartJdbcRepository.batchDelete(anyList())).thenReturn(new int[]{0});
+        restarted.flush();
+
+        verify(heartJdbcRepository).batchInsertIfAbsent(List.of(new HeartKey(1L, 10L)));
+        verify(heartJdbcRepository).batchDelete(List.of(new HeartKey(1L, 11L)));
+        verify(heartJdbcRepository).addHeartCounts(new TreeMap<>(Map.of(10L, 1L)));
+        // 새로 연 세그먼트 하나만 남는다
+        File[] segments = folder.getRoot().listFiles();
+        assertThat(segments).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("드라이버가 건별 결과를 주지 않으면 증감분을 추측하지 않고 다시 센다")
+    public void recountWhenNoInfo() {
+        HeartWriteBehindBuffer buffer = newBuffer();
+        buffer.add(1L, 10L);
+        when(heartJdbcRepository.batchInsertIfAbsent(anyList())).thenReturn(new int[]{Statement.SUCCESS_NO_INFO});
+        when(heartJdbcRepository.batchDelete(anyList())).thenReturn(new int[0]);
+
+        buffer.flush();
+
+        verify(heartJdbcRepository).recountHearts(new TreeSet<>(Set.of(10L)));
+        verify(heartJdbcRepository).addHeartCounts(new TreeMap<>());
+        assertThat(events).noneMatch(PostActivityEvent.class::isInstance);
+    }
+
+    @Test
+    @DisplayName("반영 전 좋아요 상태는 해당 사용자 것만, 마지막 상태로 조회된다")
+    public void pendingFor() {
+        HeartWriteBehindBuffer buffer = newBuffer();
+        buffer.add(1L, 10L);
+        buffer.add(1L, 11L);
+        buffer.remove(1L, 11L);
+        buffer.add(2L, 12L);
+
+        assertThat(buffer.pendingFor(1L)).isEqualTo(Map.of(10L, true, 11L, false));
+        assertThat(buffer.pendingFor(2L)).isEqualTo(Map.of(12L, true));
+        assertThat(buffer.pendingFor(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 그 사이 들어온 최신 상태를 덮어쓰지 않고 다음 주기에 다시 반영한다")
+    public void retryKeepsNewerState() {
+        HeartWriteBehindBuffer buffer = newBuffer();
+        buffer.add(1L, 10L);
+        when(heartJdbcRepository.batchInsertIfAbsent(anyList())).thenAnswer(invocation -> {
+            buffer.remove(1L, 10L);   // 반영 도중 들어온 취소
+            throw new IllegalStateException("db down");
+        });
+
+        buffer.flush();
+
+        assertThat(buffer.pendingFor(1L)).isEqualTo(Map.of(10L, false));
+        assertThat(buffer.pending(10L)).isZero();   // DB 에도 없고 마지막 상태도 취소이므로 증감 없음
+    }
+
+    @Test
+    @DisplayName("반영 전 좋아요 수 증감분은 DB 상태와 마지막 상태의 차이이고, 반영되면 0 으로 돌아간다")
+    public void pendingCounts() {
+        HeartWriteBehindBuffer buffer = newBuffer();
+        when(heartJdbcRepository.exists(new HeartKey(2L, 10L))).thenReturn(true);
+
+        buffer.add(1L, 10L);
+        buffer.add(2L, 10L);      // 이미 누른 좋아요
+        buffer.remove(3L, 10L);   // 누르지 않은 좋아요 취소
+        assertThat(buffer.pending(10L)).isEqualTo(1);
+
+        long modifications = buffer.modifications();
+        buffer.remove(2L, 10L);
+        buffer.add(1L, 10L);      // 같은 상태를 다시 보내도 두 번 세지 않는다
+        assertThat(buffer.pending(10L)).isZero();
+        assertThat(buffer.modifications()).isGreaterThan(modifications);
+        verify(heartJdbcRepository, times(1)).exists(new HeartKey(1L, 10L));
+
+        when(heartJdbcRepository.batchInsertIfAbsent(anyList())).thenAnswer(invocation -> new int[invocation.<List<?>>getArgument(0).size()]);
+        when(heartJdbcRepository.batchDelete(anyList())).thenAnswer(invocation -> new int[invocation.<List<?>>getArgument(0).size()]);
+        buffer.add(1L, 11L);
+        assertThat(buffer.pending(11L)).isEqualTo(1);
+        buffer.flush();
+        assertThat(buffer.pending(11L)).isZero();
+    }
+
+    private HeartWriteBehindBuffer newBuffer() {
+        HeartWriteBehindBuffer buffer = new HeartWriteBehindBuffer(heartJdbcRepository, events::add,
+                new TransactionTemplate(transactionManager), folder.getRoot().getPath(), 4096, false);
+        buffer.recover();
+        return buffer;
+    }
+}
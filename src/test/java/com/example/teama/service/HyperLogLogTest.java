@@ -0,0 +1,73 @@
+package com.example.teama.service;
+
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 순 방문자 수 HyperLogLog
+ * 추정 오차(표준 오차 약 3.25%, 여기서는 3배까지 허용), 중복 방문, 저장된 sketch 와의 합치기, 재사용 전 비우기를 확인한다.
+ */
+public class HyperLogLogTest {
+
+    @Test
+    @DisplayName("서로 다른 방문자 수를 오차 10% 안으로 추정한다")
+    public void accuracy() {
+        for (int cardinality : new int[]{100, 1_000, 10_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < cardinality; i++) {
+                sketch.offer("viewer-" + i);
+            }
+
+            long estimate = HyperLogLog.estimate(sketch.mergeInto(null));
+            assertThat((double) estimate).isCloseTo(cardinality, within(cardinality * 0.1));
+        }
+    }
+
+    @Test
+    @DisplayName("같은 방문자는 여러 번 봐도 한 번만 센다")
+    public void duplicates() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int repeat = 0; repeat < 50; repeat++) {
+            for (int i = 0; i < 500; i++) {
+                sketch.offer("viewer-" + i);
+            }
+        }
+
+        assertThat((double) HyperLogLog.estimate(sketch.mergeInto(null))).isCloseTo(500, within(50.0));
+    }
+
+    @Test
+    @DisplayName("주기별 sketch 를 저장된 값과 합치면 전체 기간의 순 방문자 수가 된다")
+    public void mergeIntoStored() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            first.offer("viewer-" + i);
+        }
+        for (int i = 10_000; i < 30_000; i++) {
+            second.offer("viewer-" + i);
+        }
+
+        byte[] stored = second.mergeInto(first.mergeInto(null));
+        assertThat((double) HyperLogLog.estimate(stored)).isCloseTo(30_000, within(3_000.0));
+        assertThat(stored).hasSize(HyperLogLog.PACKED_BYTES);
+    }
+
+    @Test
+    @DisplayName("비운 sketch 는 새 sketch 와 같다")
+    public void clear() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            sketch.offer("viewer-" + i);
+        }
+        sketch.clear();
+
+        assertThat(sketch.takeModified()).isFalse();
+        assertThat(sketch.mergeInto(null)).isEqualTo(new HyperLogLog().mergeInto(null));
+        sketch.offer("viewer");
+        assertThat(HyperLogLog.estimate(sketch.mergeInto(null))).isEqualTo(1);
+    }
+}
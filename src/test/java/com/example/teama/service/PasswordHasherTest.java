@@ -0,0 +1,47 @@
+package com.example.teama.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BCrypt 전용 풀: 풀(1) + 대기열(1)이 차면 기다리지 않고 거절하는지, cost 를 올리면 재해시 대상이 되는지 확인한다.
+ */
+public class PasswordHasherTest {
+
+    @Test
+    @DisplayName("풀과 대기열이 가득 차면 바로 거절한다")
+    public void rejectWhenSaturated() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHasher passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(12), meterRegistry, 1, 1);
+
+        CompletableFuture<String> running = passwordHasher.encode("password");
+        CompletableFuture<String> queued = passwordHasher.encode("password");
+
+        assertThatThrownBy(() -> passwordHasher.encode("password")).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+
+        assertThat(passwordHasher.matches("password", running.join()).join()).isTrue();
+        assertThat(passwordHasher.matches("wrong", queued.join()).join()).isFalse();
+        assertThat(meterRegistry.get("password.hash").tag("result", "matched").timer().count()).isEqualTo(1);
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("설정보다 낮은 cost 의 해시는 재해시 대상이다")
+    public void upgradeEncoding() {
+        String legacy = new BCryptPasswordEncoder(4).encode("password");
+        PasswordHasher passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(10), new SimpleMeterRegistry(), 1, 1);
+
+        assertThat(passwordHasher.upgradeEncoding(legacy)).isTrue();
+        assertThat(passwordHasher.upgradeEncoding(passwordHasher.encode("password").join())).isFalse();
+        passwordHasher.shutdown();
+    }
+}
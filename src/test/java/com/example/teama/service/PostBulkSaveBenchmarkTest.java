@@ -0,0 +1,100 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.post.PostSaveRequestDto;
+import com.example.teama.entity.User;
+import com.example.teama.persistence.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 게시글 10만 건 등록 시 초당 처리 행 수 비교
+ * 변경 전 구성 (행마다 시퀀스 왕복 + JDBC 배치 없이 insert) vs PostService.saveAll (pooled-lo 시퀀스 + JDBC 배치)
+ * 변경 전 구성은 같은 세션에서 JDBC 배치를 끄고(setJdbcBatchSize(1)), 행마다 시퀀스를 한 번씩 더 읽어 allocationSize=1 이던 때의 왕복을 재현한다.
+ * 실행 시간이 길어 평소 빌드에서는 제외한다. 돌려볼 때는 @Ignore 를 지우고 -Dbenchmark.rows=N 으로 건수를 바꿀 수 있다.
+ */
+@Ignore("benchmark")
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.format_sql=false"})
+@Transactional
+@Rollback(true)
+public class PostBulkSaveBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 100_000);
+    private static final int CLEAR_INTERVAL = 100;
+
+    @Autowired
+    PostService postService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    @DisplayName("변경 전 구성(행마다 시퀀스 왕복, 배치 없음) vs 배치 등록 rows/s")
+    public void bulkSave() {
+        User user = userRepository.save(User.builder()
+                .userEmail("bench-" + System.nanoTime())
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("bench-" + System.nanoTime())
+                .build());
+        List<PostSaveRequestDto> requestDtos = requests(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        // before: 행마다 시퀀스를 읽고(allocationSize=1), 배치 없이 insert 를 바로 보낸다
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(1);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < requestDtos.size(); i++) {
+            entityManager.createNativeQuery("SELECT TBL_POST_SEQ.NEXTVAL FROM DUAL").getSingleResult();
+            entityManager.persist(requestDtos.get(i).toEntity(entityManager.getReference(User.class, user.getId())));
+            entityManager.flush();
+            if ((i + 1) % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+        double before = rowsPerSecond(System.nanoTime() - startedAt);
+        entityManager.clear();
+        session.setJdbcBatchSize(null);   // 설정값(hibernate.jdbc.batch_size)으로 되돌린다
+
+        // after: chunk 단위 flush, JDBC 배치
+        startedAt = System.nanoTime();
+        List<Long> ids = postService.saveAll(requestDtos);
+        entityManager.flush();
+        double batched = rowsPerSecond(System.nanoTime() - startedAt);
+
+        System.out.printf("posts=%d, before(sequence per row, no batch)=%.0f rows/s, batched=%.0f rows/s (x%.1f)%n",
+                ROWS, before, batched, batched / before);
+        assertThat(ids).hasSize(ROWS).doesNotContainNull();
+    }
+
+    private List<PostSaveRequestDto> requests(User user) {
+        List<PostSaveRequestDto> requestDtos = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            requestDtos.add(PostSaveRequestDto.builder()
+                    .user(user)
+                    .postTitle("title " + i)
+                    .postContent("content " + i)
+                    .build());
+        }
+        return requestDtos;
+    }
+
+    private static double rowsPerSecond(long elapsedNanos) {
+        return ROWS / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.teama.service;
+
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 좋아요 게시글 id bitmap
+ * array container 와 bitmap container 를 오가며 추가/삭제해도 HashSet 과 같은 결과를 내는지 확인한다.
+ */
+public class PostIdBitmapTest {
+
+    @Test
+    @DisplayName("container 경계(65536)를 넘는 id 도 추가/삭제/조회된다")
+    public void acrossContainers() {
+        PostIdBitmap bitmap = new PostIdBitmap();
+        bitmap.add(1L);
+        bitmap.add(65_535L);
+        bitmap.add(65_536L);
+        bitmap.add(1L << 40);
+        bitmap.add(1L);
+
+        assertThat(bitmap.cardinality()).isEqualTo(4);
+        assertThat(bitmap.contains(65_536L)).isTrue();
+        assertThat(bitmap.contains(2L)).isFalse();
+
+        bitmap.remove(65_536L);
+        bitmap.remove(3L);
+        assertThat(bitmap.contains(65_536L)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("4096개를 넘겨 bitmap 으로 바뀌었다가 다시 줄어들어도 HashSet 과 같다")
+    public void matchesHashSet() {
+        PostIdBitmap bitmap = new PostIdBitmap();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 40_000; i++) {
+            long id = random.nextInt(3 * 65_536);
+            if (random.nextInt(3) == 0) {
+                bitmap.remove(id);
+                expected.remove(id);
+            } else {
+                bitmap.add(id);
+                expected.add(id);
+            }
+        }
+        for (long id = 0; id < 3 * 65_536; id++) {
+            if (expected.contains(id)) {
+                bitmap.remove(id);
+                expected.remove(id);
+                if (expected.size() < 3_000) {
+                    break;
+                }
+            }
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+        for (long id = 0; id < 3 * 65_536; id++) {
+            assertThat(bitmap.contains(id)).isEqualTo(expected.contains(id));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.heart.HeartKey;
+import com.example.teama.dto.reply.ReplySaveRequestDto;
+import com.example.teama.entity.Post;
+import com.example.teama.entity.User;
+import com.example.teama.persistence.HeartJdbcRepository;
+import com.example.teama.persistence.PostRepository;
+import com.example.teama.persistence.UserRepository;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 삭제 표시된 게시글 정리
+ * 묶음 크기(2)보다 많은 답글 트리와 좋아요가 달린 게시글이 FK 위반 없이 모두 지워지는지 확인한다.
+ * 정리는 문장마다 커밋되므로 트랜잭션 롤백 없이 실제로 지운다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"post.purge.chunk-size=2", "post.purge.pause=0"})
+public class PostPurgerTest {
+    @Autowired
+    PostPurger postPurger;
+    @Autowired
+    ReplyService replyService;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    HeartJdbcRepository heartJdbcRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("답글 트리와 좋아요를 묶음 단위로 지우고 게시글을 삭제한다")
+    public void purge() {
+        String suffix = Long.toString(System.nanoTime(), 36);
+        User user = userRepository.save(User.builder()
+                .userEmail("purge-" + suffix)
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname("purge-" + suffix)
+                .build());
+        Post post = postRepository.save(Post.builder().user(user).postTitle("title").postContent("content").build());
+        Long postId = post.getId();
+
+        // 댓글 2개, 각각 3단계 답글
+        for (int i = 0; i < 2; i++) {
+            Long parentId = null;
+            for (int depth = 0; depth < 4; depth++) {
+                parentId = replyService.save(user.getId(), postId,
+                        ReplySaveRequestDto.builder().parentId(parentId).replyContent("reply " + i + "-" + depth).build());
+            }
+        }
+        heartJdbcRepository.insertIfAbsent(new HeartKey(user.getId(), postId));
+        transactionTemplate.executeWithoutResult(status -> postRepository.softDelete(postId, LocalDateTime.now()));
+
+        postPurger.purge();
+
+        assertThat(count("SELECT COUNT(*) FROM TBL_REPLY WHERE post_id = ?", postId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM TBL_HEART WHERE post_id = ?", postId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM TBL_POST WHERE id = ?", postId)).isZero();
+        userRepository.deleteById(user.getId());
+    }
+
+    private long count(String sql, Long postId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, postId);
+    }
+}
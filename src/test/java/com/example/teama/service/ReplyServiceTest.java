@@ -0,0 +1,129 @@
+package com.example.teama.service;
+
+import com.example.teama.dto.reply.ReplyResponseDto;
+import com.example.teama.dto.reply.ReplySaveRequestDto;
+import com.example.teama.entity.Post;
+import com.example.teama.entity.User;
+import com.example.teama.persistence.PostRepository;
+import com.example.teama.persistence.UserRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 댓글 삭제 권한
+ * 다른 사용자의 답글이 달린 댓글을 지우면 답글은 남고 댓글만 삭제 표시되는지 확인한다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+@Rollback(true)
+public class ReplyServiceTest {
+    @Autowired
+    ReplyService replyService;
+    @Autowired
+    PostRepository postRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private User author;
+    private User other;
+    private Long postId;
+
+    @Before
+    public void setUp() {
+        author = saveUser("author");
+        other = saveUser("other");
+        postId = postRepository.save(Post.builder().user(author).postTitle("title").postContent("content").build()).getId();
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 답글이 있으면 댓글만 삭제 표시하고 답글은 남긴다")
+    public void keepOtherAuthorsReplies() {
+        Long root = save(author, null, "root");
+        Long othersReply = save(other, root, "other's reply");
+
+        replyService.delete(author.getId(), root);
+
+        List<ReplyResponseDto> thread = replyService.findThread(postId, null, 10).getReplies();
+        assertThat(thread).extracting(ReplyResponseDto::getId).containsExactly(root, othersReply);
+        assertThat(thread.get(0).isDeleted()).isTrue();
+        assertThat(thread.get(0).getReplyContent()).isNull();
+        assertThat(thread.get(1).getReplyContent()).isEqualTo("other's reply");
+        assertThat(replyCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> replyService.delete(author.getId(), root)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("답글이 모두 본인 것이면 함께 삭제한다")
+    public void deleteOwnSubtree() {
+        Long root = save(author, null, "root");
+        save(author, root, "own reply");
+
+        replyService.delete(author.getId(), root);
+
+        assertThat(replyService.findThread(postId, null, 10).getReplies()).isEmpty();
+        assertThat(replyCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("삭제 표시된 댓글을 포함한 답글 묶음을 지워도 reply_count 를 두 번 빼지 않는다")
+    public void deleteSubtreeWithMarkedReply() {
+        Long root = save(author, null, "root");
+        Long middle = save(author, root, "own reply");
+        Long othersReply = save(other, middle, "other's reply");
+        assertThat(replyCount()).isEqualTo(3);
+
+        replyService.delete(author.getId(), middle);     // 다른 사용자의 답글이 있어 삭제 표시만
+        assertThat(replyCount()).isEqualTo(2);
+        replyService.delete(other.getId(), othersReply);
+        assertThat(replyCount()).isEqualTo(1);
+
+        replyService.delete(author.getId(), root);       // root 와 삭제 표시된 middle 을 함께 지운다
+
+        assertThat(replyService.findThread(postId, null, 10).getReplies()).isEmpty();
+        assertThat(replyCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 댓글은 삭제할 수 없다")
+    public void rejectOthersReply() {
+        Long root = save(author, null, "root");
+
+        assertThatThrownBy(() -> replyService.delete(other.getId(), root)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Long save(User user, Long parentId, String content) {
+        return replyService.save(user.getId(), postId,
+                ReplySaveRequestDto.builder().parentId(parentId).replyContent(content).build());
+    }
+
+    // reply_count 는 벌크 UPDATE 로 바뀌므로 영속성 컨텍스트가 아닌 DB 에서 읽는다
+    private long replyCount() {
+        return jdbcTemplate.queryForObject("SELECT reply_count FROM TBL_POST WHERE id = ?", Long.class, postId);
+    }
+
+    private User saveUser(String name) {
+        return userRepository.save(User.builder()
+                .userEmail(name + "@example.com")
+                .userPassword("password")
+                .userPhone("phone")
+                .userNickname(name)
+                .build());
+    }
+}